@@ -2,12 +2,27 @@ package com.xiaoxj.agent;
 
 
 import com.xiaoxj.agent.service.AgentService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 @SpringBootApplication(scanBasePackages = "com")
 @RestController
@@ -15,17 +30,80 @@ import org.springframework.web.bind.annotation.RestController;
 public class K8sAgentApplication {
 
     private final AgentService agentService;
+    private final AsyncTaskExecutor chatExecutor;
+    private final Duration chatTimeout;
 
-    public K8sAgentApplication(AgentService agentService) {
+    public K8sAgentApplication(AgentService agentService,
+                               @Qualifier("chatExecutor") AsyncTaskExecutor chatExecutor,
+                               @Value("${agent.chat.timeout:10m}") Duration chatTimeout) {
         this.agentService = agentService;
+        this.chatExecutor = chatExecutor;
+        this.chatTimeout = chatTimeout;
     }
 
     @PostMapping(value = "/chat", consumes = org.springframework.http.MediaType.TEXT_PLAIN_VALUE)
-    public String invokeChat(@RequestBody String userPrompt) {
-        return agentService.invokeAgent(userPrompt);
+    public DeferredResult<Object> invokeChat(@RequestBody String userPrompt) {
+        DeferredResult<Object> result = new DeferredResult<>(chatTimeout.toMillis());
+        Future<?> chat;
+        try {
+            chat = chatExecutor.submit(() -> result.setResult(agentService.invokeAgent(userPrompt)));
+        } catch (TaskRejectedException e) {
+            result.setErrorResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(agentService.errorHtml("Too many chats are in progress. Please retry shortly.")));
+            return result;
+        }
+
+        result.onTimeout(() -> result.setErrorResult(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(agentService.errorHtml("The request did not complete within " + chatTimeout.toSeconds() + " seconds."))));
+        // Covers timeouts and client disconnects; a no-op once the chat has finished
+        result.onCompletion(() -> chat.cancel(true));
+        return result;
+    }
+
+    /**
+     * Streams the chat as server-sent events: generator tokens, tool progress and evaluator
+     * verdicts as they happen, then the final HTML in a {@code result} event.
+     */
+    @PostMapping(value = "/chat/stream",
+            consumes = org.springframework.http.MediaType.TEXT_PLAIN_VALUE,
+            produces = org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChat(@RequestBody String userPrompt) {
+        SseEmitter emitter = new SseEmitter(chatTimeout.toMillis());
+        BiConsumer<String, Object> events = (name, data) -> {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data, org.springframework.http.MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        Future<?> chat;
+        try {
+            chat = chatExecutor.submit(() -> {
+                try {
+                    agentService.streamAgent(userPrompt, events);
+                    emitter.complete();
+                } catch (UncheckedIOException e) {
+                    // Client went away; nothing left to send to
+                    emitter.completeWithError(e.getCause());
+                } catch (Exception e) {
+                    events.accept("error", Map.of("html", agentService.errorHtml(e.getMessage())));
+                    emitter.complete();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            events.accept("error", Map.of("html", agentService.errorHtml("Too many chats are in progress. Please retry shortly.")));
+            emitter.complete();
+            return emitter;
+        }
+
+        emitter.onCompletion(() -> chat.cancel(true));
+        emitter.onTimeout(() -> chat.cancel(true));
+        emitter.onError(error -> chat.cancel(true));
+        return emitter;
     }
 
     public static void main(String[] args) {
         SpringApplication.run(K8sAgentApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.xiaoxj.agent.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Starts a virtual thread per task and rejects new tasks once {@code maxConcurrent} are running.
+ * Virtual threads are cheap, so the limit only guards against unbounded load, unlike a pool and
+ * queue sized for platform threads. Only used on a Java 21+ runtime.
+ */
+class BoundedVirtualThreadExecutor implements AsyncTaskExecutor {
+
+    private final VirtualThreadTaskExecutor delegate;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+
+    BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrent) {
+        this.delegate = new VirtualThreadTaskExecutor(threadNamePrefix);
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("Executor is at its limit of " + maxConcurrent + " concurrent tasks");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
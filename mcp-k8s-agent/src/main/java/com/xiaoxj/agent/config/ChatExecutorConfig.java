@@ -0,0 +1,35 @@
+package com.xiaoxj.agent.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ChatExecutorConfig {
+
+    /**
+     * Runs chat requests off the servlet threads. On platform threads this is a bounded pool;
+     * once both the pool and its queue are full, new chats are rejected rather than piling up.
+     * With virtual threads (Java 21+ runtime) each chat gets its own thread, limited only by
+     * {@code agent.chat.virtual.max-concurrent}.
+     */
+    @Bean
+    public AsyncTaskExecutor chatExecutor(@Value("${agent.chat.executor.max-threads:16}") int maxThreads,
+                                          @Value("${agent.chat.executor.queue-capacity:64}") int queueCapacity,
+                                          @Value("${agent.chat.virtual.max-concurrent:10000}") int maxVirtualChats,
+                                          Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new BoundedVirtualThreadExecutor("agent-chat-", maxVirtualChats);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxThreads);
+        executor.setMaxPoolSize(maxThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("agent-chat-");
+        return executor;
+    }
+}
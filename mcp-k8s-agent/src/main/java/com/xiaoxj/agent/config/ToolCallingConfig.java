@@ -0,0 +1,62 @@
+package com.xiaoxj.agent.config;
+
+import com.xiaoxj.agent.service.ConcurrentToolCallingManager;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.model.tool.DefaultToolCallingManager;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.observation.ToolCallingObservationConvention;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ToolCallingConfig {
+
+    /**
+     * Bounded pool for the tool calls of a model turn. Once it is saturated, further calls run on
+     * the chat thread itself, so a busy agent falls back to sequential tool calls.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor toolCallExecutor(@Value("${agent.tools.executor.max-threads:16}") int maxThreads,
+                                                   @Value("${agent.tools.executor.queue-capacity:32}") int queueCapacity,
+                                                   Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxThreads);
+        executor.setMaxPoolSize(maxThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("agent-tool-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("agent-tool-").getVirtualThreadFactory());
+        }
+        return executor;
+    }
+
+    /**
+     * Replaces the auto-configured manager, which runs a turn's tool calls one after another.
+     */
+    @Bean
+    public ToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver,
+                                                 ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
+                                                 ObjectProvider<ObservationRegistry> observationRegistry,
+                                                 ObjectProvider<ToolCallingObservationConvention> observationConvention,
+                                                 @Qualifier("toolCallExecutor") ThreadPoolTaskExecutor toolCallExecutor) {
+        DefaultToolCallingManager delegate = ToolCallingManager.builder()
+                .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                .toolCallbackResolver(toolCallbackResolver)
+                .toolExecutionExceptionProcessor(toolExecutionExceptionProcessor)
+                .build();
+        observationConvention.ifAvailable(delegate::setObservationConvention);
+        return new ConcurrentToolCallingManager(delegate, toolCallExecutor);
+    }
+}
@@ -0,0 +1,79 @@
+package com.xiaoxj.agent.evaluation;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks that the answer is a single HTML fragment whose elements are properly nested and closed.
+ * Only known HTML element names are tracked, so placeholders such as {@code <none>} in command
+ * output do not count as tags; elements whose end tag HTML lets you omit are closed implicitly.
+ */
+@Component
+@Order(10)
+public class HtmlWellFormednessCheck implements ResponseCheck {
+
+    private static final Pattern TAG = Pattern.compile("<(/?)([a-zA-Z][a-zA-Z0-9]*)\\b[^<>]*?(/?)>|<!--.*?-->", Pattern.DOTALL);
+
+    private static final Set<String> VOID_ELEMENTS = Set.of(
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "source", "track", "wbr");
+
+    private static final Set<String> OPTIONAL_END_ELEMENTS = Set.of(
+            "li", "p", "td", "th", "tr", "thead", "tbody", "tfoot", "option", "dt", "dd");
+
+    private static final Set<String> KNOWN_ELEMENTS = Set.of(
+            "a", "abbr", "b", "blockquote", "body", "caption", "code", "dd", "del", "details", "div", "dl", "dt",
+            "em", "footer", "h1", "h2", "h3", "h4", "h5", "h6", "head", "header", "html", "i", "kbd", "label",
+            "li", "main", "mark", "nav", "ol", "option", "p", "pre", "s", "samp", "section", "select", "small",
+            "span", "strong", "style", "sub", "summary", "sup", "table", "tbody", "td", "tfoot", "th", "thead",
+            "title", "tr", "u", "ul", "var");
+
+    @Override
+    public Optional<String> check(String userPrompt, String response) {
+        String html = response.trim();
+        if (!html.startsWith("<") || !html.endsWith(">")) {
+            return Optional.of("The response must be a single HTML fragment; there is plain text before or after the HTML.");
+        }
+
+        Deque<String> open = new ArrayDeque<>();
+        Matcher matcher = TAG.matcher(html);
+        while (matcher.find()) {
+            if (matcher.group(2) == null) {
+                continue;
+            }
+            String name = matcher.group(2).toLowerCase();
+            if (!KNOWN_ELEMENTS.contains(name) && !VOID_ELEMENTS.contains(name)) {
+                continue;
+            }
+            boolean closing = !matcher.group(1).isEmpty();
+            if (!closing) {
+                if (!VOID_ELEMENTS.contains(name) && matcher.group(3).isEmpty()) {
+                    open.push(name);
+                }
+                continue;
+            }
+            if (VOID_ELEMENTS.contains(name)) {
+                continue;
+            }
+            while (!open.isEmpty() && !open.peek().equals(name) && OPTIONAL_END_ELEMENTS.contains(open.peek())) {
+                open.pop();
+            }
+            if (open.isEmpty() || !open.peek().equals(name)) {
+                return Optional.of("The HTML is not well-formed: </" + name + "> does not close an open <" + name +
+                        "> element" + (open.isEmpty() ? "." : " (innermost open element is <" + open.peek() + ">)."));
+            }
+            open.pop();
+        }
+        open.removeIf(OPTIONAL_END_ELEMENTS::contains);
+        if (!open.isEmpty()) {
+            return Optional.of("The HTML is not well-formed: <" + open.peek() + "> is never closed.");
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,32 @@
+package com.xiaoxj.agent.evaluation;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Flags answers that tell the user to run kubectl commands instead of using the tools. Text inside
+ * {@code <pre>} and {@code <code>} blocks is ignored, since tool output quoted there may mention kubectl.
+ */
+@Component
+@Order(30)
+public class KubectlSuggestionCheck implements ResponseCheck {
+
+    private static final Pattern KUBECTL_COMMAND = Pattern.compile(
+            "\\bkubectl\\s+(get|describe|logs|exec|apply|create|delete|edit|patch|scale|rollout|drain|cordon|uncordon|" +
+                    "label|annotate|top|port-forward|cp|run|expose|set|taint)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public Optional<String> check(String userPrompt, String response) {
+        Matcher matcher = KUBECTL_COMMAND.matcher(MarkdownLeakCheck.stripCodeBlocks(response));
+        if (matcher.find()) {
+            return Optional.of("The response suggests a kubectl command ('" + matcher.group() +
+                    "'); perform the operation with the provided tool methods and report the result instead.");
+        }
+        return Optional.empty();
+    }
+}
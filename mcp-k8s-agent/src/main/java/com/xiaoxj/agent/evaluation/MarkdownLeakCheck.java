@@ -0,0 +1,51 @@
+package com.xiaoxj.agent.evaluation;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Flags markdown syntax in the answer outside of {@code <pre>} and {@code <code>} blocks, where
+ * the HTML output requirement would render it literally.
+ */
+@Component
+@Order(20)
+public class MarkdownLeakCheck implements ResponseCheck {
+
+    private static final Pattern CODE_BLOCKS = Pattern.compile("<(pre|code)\\b[^>]*>.*?</\\1>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    private static final Pattern FENCE = Pattern.compile("```");
+    private static final Pattern HEADING = Pattern.compile("^\\s*#{1,6}\\s+\\S", Pattern.MULTILINE);
+    private static final Pattern LIST_ITEM = Pattern.compile("^\\s*[-*+]\\s+\\S", Pattern.MULTILINE);
+    private static final Pattern BOLD = Pattern.compile("\\*\\*[^*\\n]+\\*\\*");
+    private static final Pattern LINK = Pattern.compile("\\[[^\\]\\n]+]\\([^)\\s]+\\)");
+
+    @Override
+    public Optional<String> check(String userPrompt, String response) {
+        String text = stripCodeBlocks(response);
+        if (FENCE.matcher(text).find()) {
+            return Optional.of("The response contains markdown code fences (```); use <pre><code> instead.");
+        }
+        if (HEADING.matcher(text).find()) {
+            return Optional.of("The response contains markdown headings (#); use <h1>-<h6> instead.");
+        }
+        if (LIST_ITEM.matcher(text).find()) {
+            return Optional.of("The response contains markdown list items (- or *); use <ul>/<ol> with <li> instead.");
+        }
+        if (BOLD.matcher(text).find()) {
+            return Optional.of("The response contains markdown bold (**text**); use <strong> instead.");
+        }
+        if (LINK.matcher(text).find()) {
+            return Optional.of("The response contains markdown links ([text](url)); use <a href> instead.");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The response without its {@code <pre>} and {@code <code>} blocks, whose content is literal.
+     */
+    static String stripCodeBlocks(String response) {
+        return CODE_BLOCKS.matcher(response).replaceAll("");
+    }
+}
@@ -0,0 +1,16 @@
+package com.xiaoxj.agent.evaluation;
+
+import java.util.Optional;
+
+/**
+ * A local, deterministic check on a generated answer, run before the LLM evaluator. Checks are
+ * picked up as beans and run in {@link org.springframework.core.annotation.Order} order; the first
+ * failure becomes the feedback for the next iteration without a model call.
+ */
+public interface ResponseCheck {
+
+    /**
+     * Feedback describing what is wrong with the response, or empty when it passes.
+     */
+    Optional<String> check(String userPrompt, String response);
+}
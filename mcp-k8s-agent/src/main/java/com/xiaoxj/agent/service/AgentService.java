@@ -1,16 +1,30 @@
 package com.xiaoxj.agent.service;
 
+import com.xiaoxj.agent.evaluation.ResponseCheck;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class AgentService {
 
+    private static final Logger log = LoggerFactory.getLogger(AgentService.class);
+
     private static final int MAX_ITERATIONS = 3;
     private static final int MAX_RETRIES = 3;
 
@@ -122,35 +136,149 @@ public class AgentService {
             ALWAYS rate it as NEEDS_IMPROVEMENT and provide specific feedback on the HTML formatting issues.
             """;
 
-    private final ChatClient.Builder chatBuilder;
-    private final ToolCallbackProvider tools;
-
-    public AgentService(ChatClient.Builder chatBuilder, ToolCallbackProvider tools) {
-        this.chatBuilder = chatBuilder;
-        this.tools = tools;
+    private final ToolCallback[] toolCallbacks;
+    private final ChatClient generatorClient;
+    private final ChatClient streamingGeneratorClient;
+    private final ChatClient evaluatorClient;
+    private final List<ResponseCheck> responseChecks;
+    private final boolean semanticReview;
+    private final ResponseCache responseCache;
+
+    /**
+     * The clients are built once with their system prompt (and, for the generator, the tool
+     * schema) as defaults. Every request then starts with the same byte-identical prefix, which
+     * the provider's context cache can serve; the cached share is visible in {@code agent.llm.tokens}.
+     */
+    public AgentService(ChatClient.Builder chatBuilder, ToolCallbackProvider tools,
+                        MeterRegistry meterRegistry,
+                        ObjectProvider<ResponseCheck> responseChecks,
+                        @Value("${agent.evaluation.semantic-review:true}") boolean semanticReview,
+                        ResponseCache responseCache,
+                        @Value("${agent.tools.memo.exclude:exec_in_pod,delete_job,drain_node,install_chart,upgrade_release,uninstall_release,add_repository,update_repositories}")
+                        Set<String> notMemoizedTools) {
+        this.toolCallbacks = InvocationToolCallback.wrap(tools.getToolCallbacks(), notMemoizedTools);
+        this.responseCache = responseCache;
+        this.responseChecks = responseChecks.orderedStream().toList();
+        this.semanticReview = semanticReview;
+        TokenUsageAdvisor generatorUsage = new TokenUsageAdvisor("generator", meterRegistry);
+        this.generatorClient = chatBuilder.clone()
+                .defaultSystem(GENERATOR_SYSTEM_PROMPT)
+                .defaultToolCallbacks(toolCallbacks)
+                .defaultAdvisors(generatorUsage)
+                .build();
+        // Streaming wraps the tools per request to report progress, so they are not defaults here
+        this.streamingGeneratorClient = chatBuilder.clone()
+                .defaultSystem(GENERATOR_SYSTEM_PROMPT)
+                .defaultAdvisors(generatorUsage)
+                .build();
+        this.evaluatorClient = chatBuilder.clone()
+                .defaultSystem(EVALUATOR_SYSTEM_PROMPT)
+                .defaultAdvisors(new TokenUsageAdvisor("evaluator", meterRegistry))
+                .build();
     }
 
     public String invokeAgent(String userPrompt) {
         try {
-            return evaluatorOptimizerLoop(userPrompt);
+            String cached = responseCache.get(userPrompt);
+            if (cached != null) {
+                return cached;
+            }
+            InvocationScope scope = responseCache.newScope();
+            String answer = evaluatorOptimizerLoop(userPrompt, scope);
+            responseCache.put(userPrompt, scope, answer);
+            return answer;
+        } catch (InterruptedException e) {
+            // The request was cancelled (timeout or client disconnect); nobody is waiting for the answer
+            Thread.currentThread().interrupt();
+            return errorHtml("The request was cancelled.");
         } catch (Exception e) {
-            e.printStackTrace();
-            return String.format(ERROR_HTML_TEMPLATE, e.getMessage());
+            log.error("Agent invocation failed", e);
+            return errorHtml(e.getMessage());
         }
     }
 
-    private String evaluatorOptimizerLoop(String userPrompt) throws InterruptedException {
+    public String errorHtml(String message) {
+        return String.format(ERROR_HTML_TEMPLATE, message);
+    }
+
+    /**
+     * Streaming form of the evaluator-optimizer loop. Emits {@code iteration}, {@code token} and
+     * {@code tool} events while each answer is generated, an {@code evaluation} event per verdict,
+     * and finally {@code result} with the formatted HTML (or {@code error}).
+     */
+    public void streamAgent(String userPrompt, BiConsumer<String, Object> events) {
+        try {
+            String cached = responseCache.get(userPrompt);
+            if (cached != null) {
+                events.accept("result", Map.of("html", cached, "cached", true));
+                return;
+            }
+            InvocationScope scope = responseCache.newScope();
+            ToolCallback[] progressCallbacks = ToolProgressCallback.wrap(toolCallbacks, events);
+            String currentResponse = null;
+            StringBuilder chainOfThought = new StringBuilder();
+
+            for (int iteration = 1; iteration <= MAX_ITERATIONS; iteration++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                events.accept("iteration", Map.of("iteration", iteration));
+
+                StringBuilder generated = new StringBuilder();
+                Iterable<String> tokens = streamingGeneratorClient.prompt()
+                        .user(generationPrompt(userPrompt, currentResponse, chainOfThought))
+                        .toolCallbacks(progressCallbacks)
+                        .toolContext(scope.toolContext())
+                        .stream().content()
+                        .toIterable();
+                for (String token : tokens) {
+                    generated.append(token);
+                    events.accept("token", Map.of("text", token));
+                }
+                currentResponse = generated.toString();
+
+                if (iteration == MAX_ITERATIONS) {
+                    break;
+                }
+
+                String evaluation = evaluateResponse(userPrompt, currentResponse);
+                chainOfThought.append("\n\nIteration ").append(iteration).append(":\n").append(currentResponse)
+                        .append("\n\nEvaluation:\n").append(evaluation);
+                boolean passed = evaluation.contains("RATING: PASS");
+                events.accept("evaluation", Map.of("iteration", iteration,
+                        "rating", passed ? "PASS" : "NEEDS_IMPROVEMENT",
+                        "evaluation", evaluation));
+                if (passed) {
+                    break;
+                }
+            }
+
+            String answer = ensureHtmlFormat(currentResponse != null ? currentResponse : "Failed to generate a response");
+            if (currentResponse != null) {
+                responseCache.put(userPrompt, scope, answer);
+            }
+            events.accept("result", Map.of("html", answer));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String evaluatorOptimizerLoop(String userPrompt, InvocationScope scope) throws InterruptedException {
         String currentResponse = null;
         int iterationCount = 0;
         StringBuilder chainOfThought = new StringBuilder();
 
         while (iterationCount < MAX_ITERATIONS) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
             iterationCount++;
 
             currentResponse = generateResponse(
                     userPrompt,
                     currentResponse,
-                    chainOfThought
+                    chainOfThought,
+                    scope
             );
 
             if (iterationCount == MAX_ITERATIONS) {
@@ -173,39 +301,25 @@ public class AgentService {
     private String generateResponse(
             String userPrompt,
             String currentResponse,
-            StringBuilder chainOfThought
+            StringBuilder chainOfThought,
+            InvocationScope scope
     ) throws InterruptedException {
-        String generationPrompt;
-        if (currentResponse == null) {
-            generationPrompt = userPrompt;
-        } else {
-            String feedback = chainOfThought.toString().split("FEEDBACK:")[1].trim();
-            generationPrompt = """
-                Original user request: %s
-                
-                Your previous response: %s
-                
-                Feedback on your previous response: %s
-                
-                Please provide an improved response that addresses the feedback.
-                """.formatted(userPrompt, currentResponse, feedback);
-        }
+        String generationPrompt = generationPrompt(userPrompt, currentResponse, chainOfThought);
 
         int retryCount = 0;
         String generatedResponse = null;
 
         while (generatedResponse == null) {
             try {
-                generatedResponse = chatBuilder.build().prompt()
+                generatedResponse = generatorClient.prompt()
                         .user(generationPrompt)
-                        .system(GENERATOR_SYSTEM_PROMPT)
-                        .tools(tools)
+                        .toolContext(scope.toolContext())
                         .call().content();
             } catch (Exception e) {
                 retryCount++;
                 if (retryCount >= MAX_ITERATIONS) throw e;
 
-                System.out.printf("API call failed (attempt %d/%d): %s. Retrying...%n",
+                log.debug("API call failed (attempt {}/{}): {}. Retrying...",
                         retryCount, MAX_ITERATIONS, e.getMessage());
                 Thread.sleep(calculateBackoffMs(retryCount));
             }
@@ -214,7 +328,40 @@ public class AgentService {
         return generatedResponse != null ? generatedResponse : "No response generated";
     }
 
+    private String generationPrompt(String userPrompt, String currentResponse, StringBuilder chainOfThought) {
+        if (currentResponse == null) {
+            return userPrompt;
+        }
+        String feedback = chainOfThought.toString().split("FEEDBACK:")[1].trim();
+        return """
+            Original user request: %s
+            
+            Your previous response: %s
+            
+            Feedback on your previous response: %s
+            
+            Please provide an improved response that addresses the feedback.
+            """.formatted(userPrompt, currentResponse, feedback);
+    }
+
+    /**
+     * Runs the local checks first; a failing check becomes the feedback without a model call.
+     * The LLM evaluator only reviews answers that pass them, and only when semantic review is on.
+     */
     private String evaluateResponse(String userPrompt, String currentResponse) throws InterruptedException {
+        for (ResponseCheck check : responseChecks) {
+            Optional<String> feedback = check.check(userPrompt, currentResponse);
+            if (feedback.isPresent()) {
+                return "RATING: NEEDS_IMPROVEMENT\nFEEDBACK: " + feedback.get();
+            }
+        }
+        if (!semanticReview) {
+            return "RATING: PASS\nFEEDBACK: Local checks passed.";
+        }
+        return reviewResponse(userPrompt, currentResponse);
+    }
+
+    private String reviewResponse(String userPrompt, String currentResponse) throws InterruptedException {
         String evaluationPrompt = """
             User request: %s
             
@@ -228,19 +375,18 @@ public class AgentService {
 
         while (evaluation == null) {
             try {
-                evaluation = chatBuilder.build().prompt()
+                evaluation = evaluatorClient.prompt()
                         .user(evaluationPrompt)
-                        .system(EVALUATOR_SYSTEM_PROMPT)
                         .call().content();
             } catch (Exception e) {
                 evalRetryCount++;
                 if (evalRetryCount >= MAX_RETRIES) {
-                    System.out.printf("Evaluation API call failed after %d attempts: %s. Continuing with current response.%n",
+                    log.warn("Evaluation API call failed after {} attempts: {}. Continuing with current response.",
                             MAX_RETRIES, e.getMessage());
                     return "RATING: PASS\nFEEDBACK: Unable to evaluate due to API timeout, but continuing with current response.";
                 }
 
-                System.out.printf("Evaluation API call failed (attempt %d/%d): %s. Retrying...%n",
+                log.debug("Evaluation API call failed (attempt {}/{}): {}. Retrying...",
                         evalRetryCount, MAX_RETRIES, e.getMessage());
                 Thread.sleep(calculateBackoffMs(evalRetryCount));
             }
@@ -0,0 +1,90 @@
+package com.xiaoxj.agent.service;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the tool calls of one model turn concurrently. Each call is handed to the delegate on its
+ * own, on a bounded executor, and the responses are put back together in the order the model
+ * asked for them, so a multi-tool turn takes about as long as its slowest call.
+ */
+public class ConcurrentToolCallingManager implements ToolCallingManager {
+
+    private final ToolCallingManager delegate;
+    private final AsyncTaskExecutor executor;
+
+    public ConcurrentToolCallingManager(ToolCallingManager delegate, AsyncTaskExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        AssistantMessage assistantMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(output -> output != null && output.hasToolCalls())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No tool call requested by the chat model"));
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        if (toolCalls.size() == 1) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        List<Future<ToolExecutionResult>> calls = new ArrayList<>(toolCalls.size());
+        try {
+            for (AssistantMessage.ToolCall toolCall : toolCalls) {
+                ChatResponse singleCall = new ChatResponse(List.of(new Generation(new AssistantMessage(
+                        assistantMessage.getText(), assistantMessage.getMetadata(), List.of(toolCall)))));
+                calls.add(executor.submit(() -> delegate.executeToolCalls(prompt, singleCall)));
+            }
+
+            List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>(toolCalls.size());
+            boolean returnDirect = true;
+            for (Future<ToolExecutionResult> call : calls) {
+                ToolExecutionResult result = call.get();
+                List<Message> history = result.conversationHistory();
+                responses.addAll(((ToolResponseMessage) history.get(history.size() - 1)).getResponses());
+                returnDirect &= result.returnDirect();
+            }
+
+            List<Message> conversationHistory = new ArrayList<>(prompt.getInstructions());
+            conversationHistory.add(assistantMessage);
+            conversationHistory.add(new ToolResponseMessage(responses, Map.of()));
+            return ToolExecutionResult.builder()
+                    .conversationHistory(conversationHistory)
+                    .returnDirect(returnDirect)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running tool calls", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // No-op for finished calls; stops the rest when one fails or the chat is cancelled
+            calls.forEach(call -> call.cancel(true));
+        }
+    }
+}
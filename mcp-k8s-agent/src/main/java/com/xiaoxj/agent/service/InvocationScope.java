@@ -0,0 +1,168 @@
+package com.xiaoxj.agent.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.xiaoxj.tools.ClusterSnapshot;
+import org.springframework.ai.chat.model.ToolContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * State shared by the tool calls of one agent invocation. It travels to the tools in the
+ * {@link ToolContext}, so the prebuilt chat clients can keep their tools as defaults. It also
+ * memoizes tool results, so a regenerated answer that repeats a call with the same arguments
+ * reuses the earlier result instead of going back to the API server. Running any tool that is
+ * not memoized, such as a mutation, drops the memo so later reads see its effect. With a
+ * {@link ClusterSnapshot}, it records which cached cluster state each call read and its
+ * generation when the call started, so the answer can be checked for currency later.
+ */
+final class InvocationScope {
+
+    static final String CONTEXT_KEY = "agent.invocation";
+
+    private static final ObjectMapper CANONICAL_JSON = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final ClusterSnapshot clusterSnapshot;
+    private final Set<String> toolNames = ConcurrentHashMap.newKeySet();
+    private final Map<String, Memo> results = new ConcurrentHashMap<>();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private final Map<ClusterSnapshot.Read, Long> cachedReads = new ConcurrentHashMap<>();
+    private volatile boolean untrackedReads;
+    private volatile boolean toolErrors;
+
+    InvocationScope(ClusterSnapshot clusterSnapshot) {
+        this.clusterSnapshot = clusterSnapshot;
+    }
+
+    /**
+     * A scope that tracks no cluster state; every tool call counts as an untracked read.
+     */
+    InvocationScope() {
+        this(null);
+    }
+
+    static InvocationScope from(ToolContext toolContext) {
+        return toolContext != null && toolContext.getContext().get(CONTEXT_KEY) instanceof InvocationScope scope ?
+                scope : null;
+    }
+
+    Map<String, Object> toolContext() {
+        return Map.of(CONTEXT_KEY, this);
+    }
+
+    void recordToolCall(String toolName, String toolInput) {
+        toolNames.add(toolName);
+        List<ClusterSnapshot.Read> reads = clusterSnapshot != null ?
+                clusterSnapshot.cachedReads(toolName, arguments(toolInput)) : List.of();
+        if (reads.isEmpty()) {
+            untrackedReads = true;
+            return;
+        }
+        for (ClusterSnapshot.Read read : reads) {
+            Long generation = clusterSnapshot.generation(read);
+            if (generation == null) {
+                untrackedReads = true;
+                return;
+            }
+            // Repeated reads keep the oldest generation, so any change since the first one shows
+            cachedReads.merge(read, generation, Math::min);
+        }
+    }
+
+    void recordToolResult(String result) {
+        if (result != null && isError(result)) {
+            toolErrors = true;
+        }
+    }
+
+    /**
+     * The result of an identical earlier call in this invocation, or the result of {@code call}.
+     * Error results are not kept, so a failed call is retried when it is repeated.
+     */
+    String memoize(String toolName, String toolInput, Supplier<String> call) {
+        String key = toolName + " " + canonicalArguments(toolInput);
+        long epoch = writeEpoch.get();
+        Memo memo = results.get(key);
+        if (memo != null && memo.epoch() == epoch) {
+            return memo.result();
+        }
+        String result = call.get();
+        // A call that overlapped an unmemoized one may have read state from before it
+        if (result != null && !isError(result) && writeEpoch.get() == epoch) {
+            results.put(key, new Memo(epoch, result));
+        }
+        return result;
+    }
+
+    /**
+     * Runs a call that is not memoized and may change cluster state. Memoized results from before
+     * it, or from calls running alongside it, are not served afterwards.
+     */
+    String bypassMemo(Supplier<String> call) {
+        writeEpoch.incrementAndGet();
+        try {
+            return call.get();
+        } finally {
+            writeEpoch.incrementAndGet();
+            results.clear();
+        }
+    }
+
+    /**
+     * Names of the tools called so far in this invocation.
+     */
+    Set<String> toolNames() {
+        return Set.copyOf(toolNames);
+    }
+
+    /**
+     * Whether any tool call read something other than cached cluster state.
+     */
+    boolean hasUntrackedReads() {
+        return untrackedReads;
+    }
+
+    boolean hasToolErrors() {
+        return toolErrors;
+    }
+
+    /**
+     * Cached cluster state read by the tool calls, with the generation it had before it was read.
+     */
+    Map<ClusterSnapshot.Read, Long> cachedReads() {
+        return Map.copyOf(cachedReads);
+    }
+
+    // Same arguments in a different key order or spacing are the same call
+    private static String canonicalArguments(String toolInput) {
+        try {
+            return CANONICAL_JSON.writeValueAsString(CANONICAL_JSON.readValue(toolInput, Object.class));
+        } catch (JsonProcessingException e) {
+            return toolInput;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> arguments(String toolInput) {
+        try {
+            Object arguments = CANONICAL_JSON.readValue(toolInput, Object.class);
+            return arguments instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return Map.of();
+        }
+    }
+
+    private static boolean isError(String result) {
+        return result.startsWith("Error") || result.startsWith("\"Error");
+    }
+
+    private record Memo(long epoch, String result) {
+    }
+}
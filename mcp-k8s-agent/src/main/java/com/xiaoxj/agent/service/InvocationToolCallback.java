@@ -0,0 +1,64 @@
+package com.xiaoxj.agent.service;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.Set;
+
+/**
+ * Reports each call of the wrapped tool to the {@link InvocationScope} found in the tool context
+ * and, unless the tool is excluded, serves repeated identical calls from the scope's memo.
+ * Excluded tools invalidate the memo when they run.
+ * Calls made without a scope go straight to the tool.
+ */
+class InvocationToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final boolean memoize;
+
+    InvocationToolCallback(ToolCallback delegate, boolean memoize) {
+        this.delegate = delegate;
+        this.memoize = memoize;
+    }
+
+    static ToolCallback[] wrap(ToolCallback[] toolCallbacks, Set<String> notMemoized) {
+        ToolCallback[] wrapped = new ToolCallback[toolCallbacks.length];
+        for (int i = 0; i < toolCallbacks.length; i++) {
+            wrapped[i] = new InvocationToolCallback(toolCallbacks[i],
+                    !notMemoized.contains(toolCallbacks[i].getToolDefinition().name()));
+        }
+        return wrapped;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        InvocationScope scope = InvocationScope.from(toolContext);
+        if (scope == null) {
+            return toolContext != null ? delegate.call(toolInput, toolContext) : delegate.call(toolInput);
+        }
+        String name = delegate.getToolDefinition().name();
+        scope.recordToolCall(name, toolInput);
+        String result = memoize ?
+                scope.memoize(name, toolInput, () -> delegate.call(toolInput, toolContext)) :
+                scope.bypassMemo(() -> delegate.call(toolInput, toolContext));
+        scope.recordToolResult(result);
+        return result;
+    }
+}
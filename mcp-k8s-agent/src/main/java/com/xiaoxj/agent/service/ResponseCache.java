@@ -0,0 +1,113 @@
+package com.xiaoxj.agent.service;
+
+import com.xiaoxj.tools.ClusterSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Bounded LRU cache of final answers, keyed by the normalized prompt. Each entry remembers the
+ * cached cluster state its tool calls read, a namespace or the whole cluster of each resource,
+ * with their generations taken before the tools ran, and is only served while those generations
+ * are unchanged and the entry is younger than the TTL. Answers made without tool calls, from failed tool calls, or from tools
+ * whose data is not tracked by {@link ClusterSnapshot} are not cached.
+ */
+@Service
+public class ResponseCache {
+
+    private final ClusterSnapshot clusterSnapshot;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCache(ClusterSnapshot clusterSnapshot,
+                         MeterRegistry meterRegistry,
+                         @Value("${agent.response-cache.enabled:true}") boolean enabled,
+                         @Value("${agent.response-cache.max-entries:256}") int maxEntries,
+                         @Value("${agent.response-cache.ttl:5m}") Duration ttl) {
+        this.clusterSnapshot = clusterSnapshot;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("agent.response_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("agent.response_cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * The cached answer for the prompt, or null when there is none that is still current.
+     */
+    public String get(String prompt) {
+        if (!enabled) {
+            return null;
+        }
+        String key = normalize(prompt);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && isCurrent(entry)) {
+            hits.increment();
+            return entry.answer();
+        }
+        if (entry != null) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Scope to pass to the tool calls of an answer about to be generated, and then to {@link #put}.
+     */
+    InvocationScope newScope() {
+        return new InvocationScope(clusterSnapshot);
+    }
+
+    void put(String prompt, InvocationScope scope, String answer) {
+        if (!enabled) {
+            return;
+        }
+        // Nothing to check an answer without tool calls against; failed calls may succeed next time
+        if (scope.toolNames().isEmpty() || scope.hasToolErrors() || scope.hasUntrackedReads()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(normalize(prompt), new Entry(answer, scope.cachedReads(), System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    private boolean isCurrent(Entry entry) {
+        if (System.nanoTime() - entry.expiresAt() > 0) {
+            return false;
+        }
+        for (Map.Entry<ClusterSnapshot.Read, Long> read : entry.generations().entrySet()) {
+            if (!read.getValue().equals(clusterSnapshot.generation(read.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(String prompt) {
+        return prompt.trim()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("[?.!\\s]+$", "");
+    }
+
+    private record Entry(String answer, Map<ClusterSnapshot.Read, Long> generations, long expiresAt) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.xiaoxj.agent.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.deepseek.api.DeepSeekApi;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records the token usage of a chat client as {@code agent.llm.tokens}, tagged with the client
+ * and the token type. {@code type=cached} counts prompt tokens the provider served from its
+ * context cache, i.e. the part of the static system prompt and tool schema that was not billed
+ * at the full rate.
+ */
+class TokenUsageAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private final Counter promptTokens;
+    private final Counter cachedPromptTokens;
+    private final Counter completionTokens;
+
+    TokenUsageAdvisor(String client, MeterRegistry registry) {
+        this.promptTokens = counter(client, "prompt", registry);
+        this.cachedPromptTokens = counter(client, "cached", registry);
+        this.completionTokens = counter(client, "completion", registry);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        ChatClientResponse response = chain.nextCall(request);
+        record(usageOf(response));
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        // Usage is cumulative and arrives with the last chunks, so only the final value is recorded
+        AtomicReference<Usage> lastUsage = new AtomicReference<>();
+        return chain.nextStream(request)
+                .doOnNext(response -> {
+                    Usage usage = usageOf(response);
+                    if (usage != null && usage.getPromptTokens() != null && usage.getPromptTokens() > 0) {
+                        lastUsage.set(usage);
+                    }
+                })
+                .doOnComplete(() -> record(lastUsage.get()));
+    }
+
+    @Override
+    public String getName() {
+        return "tokenUsage";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        promptTokens.increment(usage.getPromptTokens() != null ? usage.getPromptTokens() : 0);
+        completionTokens.increment(usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0);
+        if (usage.getNativeUsage() instanceof DeepSeekApi.Usage nativeUsage &&
+                nativeUsage.promptTokensDetails() != null &&
+                nativeUsage.promptTokensDetails().cachedTokens() != null) {
+            cachedPromptTokens.increment(nativeUsage.promptTokensDetails().cachedTokens());
+        }
+    }
+
+    private static Usage usageOf(ChatClientResponse response) {
+        return response.chatResponse() != null && response.chatResponse().getMetadata() != null ?
+                response.chatResponse().getMetadata().getUsage() : null;
+    }
+
+    private static Counter counter(String client, String type, MeterRegistry registry) {
+        return Counter.builder("agent.llm.tokens")
+                .tag("client", client)
+                .tag("type", type)
+                .register(registry);
+    }
+}
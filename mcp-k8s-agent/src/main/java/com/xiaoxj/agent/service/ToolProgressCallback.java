@@ -0,0 +1,63 @@
+package com.xiaoxj.agent.service;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Reports {@code tool} events when the wrapped tool starts and finishes, so streaming clients can
+ * show progress while the model is waiting on tool results.
+ */
+class ToolProgressCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final BiConsumer<String, Object> events;
+
+    ToolProgressCallback(ToolCallback delegate, BiConsumer<String, Object> events) {
+        this.delegate = delegate;
+        this.events = events;
+    }
+
+    static ToolCallback[] wrap(ToolCallback[] toolCallbacks, BiConsumer<String, Object> events) {
+        ToolCallback[] wrapped = new ToolCallback[toolCallbacks.length];
+        for (int i = 0; i < toolCallbacks.length; i++) {
+            wrapped[i] = new ToolProgressCallback(toolCallbacks[i], events);
+        }
+        return wrapped;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String name = delegate.getToolDefinition().name();
+        events.accept("tool", Map.of("tool", name, "status", "started"));
+        long start = System.nanoTime();
+        String status = "failed";
+        try {
+            String result = toolContext != null ? delegate.call(toolInput, toolContext) : delegate.call(toolInput);
+            status = "finished";
+            return result;
+        } finally {
+            events.accept("tool", Map.of("tool", name, "status", status,
+                    "durationMs", (System.nanoTime() - start) / 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.xiaoxj.agent.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HtmlWellFormednessCheckTest {
+
+    private final HtmlWellFormednessCheck check = new HtmlWellFormednessCheck();
+
+    @Test
+    void passesNestedFragment() {
+        assertTrue(check.check("q", "<div><h2>Pods</h2><ul><li>web-1</li><li>web-2</li></ul><br></div>").isEmpty());
+    }
+
+    @Test
+    void passesOmittedOptionalEndTagsAndPlaceholders() {
+        assertTrue(check.check("q", "<table><tr><td>web-1<td>&lt;none&gt; <none></table>").isEmpty());
+    }
+
+    @Test
+    void failsOnTextAroundTheFragment() {
+        assertTrue(check.check("q", "Here you go: <p>ok</p>").isPresent());
+    }
+
+    @Test
+    void failsOnMismatchedEndTag() {
+        assertEquals("The HTML is not well-formed: </div> does not close an open <div> element (innermost open element is <span>).",
+                check.check("q", "<div><span>text</div>").orElseThrow());
+    }
+
+    @Test
+    void failsOnUnclosedElement() {
+        assertEquals("The HTML is not well-formed: <div> is never closed.",
+                check.check("q", "<div><p>text</p>").orElseThrow());
+    }
+}
@@ -0,0 +1,37 @@
+package com.xiaoxj.agent.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KubectlSuggestionCheckTest {
+
+    private final KubectlSuggestionCheck check = new KubectlSuggestionCheck();
+
+    @Test
+    void passesAnswerWithoutKubectl() {
+        assertTrue(check.check("q", "<p>All 3 pods in <strong>default</strong> are Running.</p>").isEmpty());
+    }
+
+    @Test
+    void passesKubectlInsideCodeBlocks() {
+        assertTrue(check.check("q", "<p>Last event:</p><pre>Created by kubectl apply -f web.yaml</pre>").isEmpty());
+        assertTrue(check.check("q", "<p>Annotation <code>kubectl describe</code> was set by the client.</p>").isEmpty());
+    }
+
+    @Test
+    void passesKubectlWithoutSubcommand() {
+        assertTrue(check.check("q", "<p>The kubectl client version does not matter here.</p>").isEmpty());
+    }
+
+    @Test
+    void failsOnSuggestedCommand() {
+        assertTrue(check.check("q", "<p>Run kubectl logs web-1 to see the error.</p>").orElseThrow()
+                .contains("'kubectl logs'"));
+    }
+
+    @Test
+    void failsOnSuggestedCommandNextToCodeBlock() {
+        assertTrue(check.check("q", "<pre>exit code 1</pre><p>Try KUBECTL describe pod web-1.</p>").isPresent());
+    }
+}
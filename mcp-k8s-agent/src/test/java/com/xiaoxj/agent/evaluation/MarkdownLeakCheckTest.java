@@ -0,0 +1,45 @@
+package com.xiaoxj.agent.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkdownLeakCheckTest {
+
+    private final MarkdownLeakCheck check = new MarkdownLeakCheck();
+
+    @Test
+    void passesPlainHtml() {
+        assertTrue(check.check("q", "<h2>Pods</h2><ul><li><strong>web-1</strong> is Running</li></ul>").isEmpty());
+    }
+
+    @Test
+    void passesMarkdownInsideCodeBlocks() {
+        assertTrue(check.check("q", "<pre><code># comment\n- item\n**bold**</code></pre>").isEmpty());
+    }
+
+    @Test
+    void failsOnFence() {
+        assertTrue(check.check("q", "<div>```yaml\nkind: Pod\n```</div>").orElseThrow().contains("code fences"));
+    }
+
+    @Test
+    void failsOnHeading() {
+        assertTrue(check.check("q", "<div>\n## Pods\n</div>").orElseThrow().contains("headings"));
+    }
+
+    @Test
+    void failsOnListItem() {
+        assertTrue(check.check("q", "<div>\n- web-1\n</div>").orElseThrow().contains("list items"));
+    }
+
+    @Test
+    void failsOnBold() {
+        assertTrue(check.check("q", "<p>The pod is **Running**</p>").orElseThrow().contains("bold"));
+    }
+
+    @Test
+    void failsOnLink() {
+        assertTrue(check.check("q", "<p>See [docs](https://kubernetes.io)</p>").orElseThrow().contains("links"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.xiaoxj.agent.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvocationToolCallbackTest {
+
+    private final List<String> jobs = new ArrayList<>(List.of("backup", "report"));
+    private final AtomicInteger listCalls = new AtomicInteger();
+
+    private final ToolCallback[] tools = InvocationToolCallback.wrap(new ToolCallback[]{
+            new StubTool("list_jobs", input -> {
+                listCalls.incrementAndGet();
+                return String.join(",", jobs);
+            }),
+            new StubTool("delete_job", input -> {
+                jobs.remove("backup");
+                return "Deleted job backup";
+            })
+    }, Set.of("delete_job"));
+
+    @Test
+    void repeatedCallIsServedFromMemo() {
+        ToolContext context = new ToolContext(new InvocationScope().toolContext());
+
+        assertEquals("backup,report", tools[0].call("{\"namespace\":\"default\"}", context));
+        assertEquals("backup,report", tools[0].call("{ \"namespace\": \"default\" }", context));
+        assertEquals(1, listCalls.get());
+    }
+
+    @Test
+    void unmemoizedToolInvalidatesMemo() {
+        ToolContext context = new ToolContext(new InvocationScope().toolContext());
+
+        assertEquals("backup,report", tools[0].call("{\"namespace\":\"default\"}", context));
+        assertEquals("Deleted job backup", tools[1].call("{\"namespace\":\"default\",\"jobName\":\"backup\"}", context));
+        assertEquals("report", tools[0].call("{\"namespace\":\"default\"}", context));
+        assertEquals(2, listCalls.get());
+    }
+
+    @Test
+    void memoIsNotSharedBetweenInvocations() {
+        tools[0].call("{}", new ToolContext(new InvocationScope().toolContext()));
+        tools[0].call("{}", new ToolContext(new InvocationScope().toolContext()));
+
+        assertEquals(2, listCalls.get());
+    }
+
+    private record StubTool(String name, Function<String, String> body) implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return body.apply(toolInput);
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            return call(toolInput);
+        }
+    }
+}
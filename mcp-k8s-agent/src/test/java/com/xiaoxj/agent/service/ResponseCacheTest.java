@@ -0,0 +1,154 @@
+package com.xiaoxj.agent.service;
+
+import com.xiaoxj.tools.ClusterSnapshot;
+import com.xiaoxj.tools.ReadConsistency;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.TransformFunc;
+import io.kubernetes.client.informer.cache.Indexer;
+import io.kubernetes.client.openapi.models.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private final StubInformer<V1Pod> pods = new StubInformer<>();
+    private final StubInformer<CoreV1Event> events = new StubInformer<>();
+    private final StubInformer<V1Node> nodes = new StubInformer<>();
+    private final StubInformer<V1Deployment> deployments = new StubInformer<>();
+    private final ClusterSnapshot clusterSnapshot = new ClusterSnapshot(pods, events, nodes, deployments,
+            new ReadConsistency(List.of("list_pods", "check_cluster_health")));
+
+    private ResponseCache cache(Duration ttl) {
+        return new ResponseCache(clusterSnapshot, new SimpleMeterRegistry(), true, 16, ttl);
+    }
+
+    private static void answer(ResponseCache cache, String prompt, String tool, String input, String result) {
+        InvocationScope scope = cache.newScope();
+        scope.recordToolCall(tool, input);
+        scope.recordToolResult(result);
+        cache.put(prompt, scope, "answer to " + prompt);
+    }
+
+    @Test
+    void servesCurrentAnswerForTheSamePrompt() {
+        ResponseCache cache = cache(Duration.ofMinutes(5));
+        answer(cache, "Which pods are in shop?", "list_pods", "{\"namespace\":\"shop\"}", "web-1");
+
+        assertEquals("answer to Which pods are in shop?", cache.get("  which pods are in   SHOP "));
+        assertNull(cache.get("Which pods are in default?"));
+    }
+
+    @Test
+    void expiredAnswerIsNotServed() throws InterruptedException {
+        ResponseCache cache = cache(Duration.ofMillis(1));
+        answer(cache, "Which pods are in shop?", "list_pods", "{\"namespace\":\"shop\"}", "web-1");
+
+        Thread.sleep(10);
+        assertNull(cache.get("Which pods are in shop?"));
+    }
+
+    @Test
+    void changeInTheReadNamespaceInvalidates() {
+        ResponseCache cache = cache(Duration.ofMinutes(5));
+        answer(cache, "Which pods are in shop?", "list_pods", "{\"namespace\":\"shop\"}", "web-1");
+
+        pods.handler.onAdd(pod("other"));
+        assertNotNull(cache.get("Which pods are in shop?"));
+
+        pods.handler.onAdd(pod("shop"));
+        assertNull(cache.get("Which pods are in shop?"));
+    }
+
+    @Test
+    void clusterHealthIsInvalidatedByAnyNamespaceOrNode() {
+        ResponseCache cache = cache(Duration.ofMinutes(5));
+        answer(cache, "Is the cluster healthy?", "check_cluster_health", "{}", "Cluster Health Report");
+        assertNotNull(cache.get("Is the cluster healthy?"));
+
+        pods.handler.onAdd(pod("other"));
+        assertNull(cache.get("Is the cluster healthy?"));
+
+        answer(cache, "Is the cluster healthy?", "check_cluster_health", "{}", "Cluster Health Report");
+        nodes.handler.onAdd(new V1Node().metadata(new V1ObjectMeta().name("node-1").resourceVersion("1")));
+        assertNull(cache.get("Is the cluster healthy?"));
+    }
+
+    @Test
+    void answersFromFailedOrUntrackedCallsAreNotCached() {
+        ResponseCache cache = cache(Duration.ofMinutes(5));
+        answer(cache, "Which pods are in shop?", "list_pods", "{\"namespace\":\"shop\"}", "Error listing pods: timeout");
+        answer(cache, "Show the logs of web-1", "get_pod_logs", "{\"podName\":\"web-1\"}", "started");
+
+        assertNull(cache.get("Which pods are in shop?"));
+        assertNull(cache.get("Show the logs of web-1"));
+    }
+
+    @Test
+    void unsyncedInformerIsNotCached() {
+        ResponseCache cache = cache(Duration.ofMinutes(5));
+        nodes.synced = false;
+        answer(cache, "Is the cluster healthy?", "check_cluster_health", "{}", "Cluster Health Report");
+
+        nodes.synced = true;
+        assertNull(cache.get("Is the cluster healthy?"));
+    }
+
+    private static V1Pod pod(String namespace) {
+        return new V1Pod().metadata(new V1ObjectMeta().name("web").namespace(namespace).resourceVersion("1"));
+    }
+
+    static final class StubInformer<T extends KubernetesObject> implements SharedIndexInformer<T> {
+        ResourceEventHandler<T> handler;
+        volatile boolean synced = true;
+
+        @Override
+        public void addEventHandler(ResourceEventHandler<T> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void addEventHandlerWithResyncPeriod(ResourceEventHandler<T> handler, long resyncPeriod) {
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean hasSynced() {
+            return synced;
+        }
+
+        @Override
+        public void addIndexers(Map<String, Function<T, List<String>>> indexers) {
+        }
+
+        @Override
+        public Indexer<T> getIndexer() {
+            return null;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public String lastSyncResourceVersion() {
+            return null;
+        }
+
+        @Override
+        public void setTransform(TransformFunc transformFunc) {
+        }
+    }
+}
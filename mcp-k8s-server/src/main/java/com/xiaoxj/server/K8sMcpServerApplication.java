@@ -3,10 +3,20 @@ package com.xiaoxj.server;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
 
 @SpringBootApplication(scanBasePackages = "com")
 public class K8sMcpServerApplication {
     public static void main(String[] args) {
-        SpringApplication.run(K8sMcpServerApplication.class, args);
+        SpringApplication application = new SpringApplication(K8sMcpServerApplication.class);
+        application.addListeners((ApplicationListener<ApplicationEnvironmentPreparedEvent>) event -> {
+            if (Threading.VIRTUAL.isActive(event.getEnvironment())) {
+                // MCP tool calls run on Reactor's bounded elastic scheduler; move it onto virtual threads
+                System.setProperty("reactor.schedulers.defaultBoundedElasticOnVirtualThreads", "true");
+            }
+        });
+        application.run(args);
     }
-}
\ No newline at end of file
+}
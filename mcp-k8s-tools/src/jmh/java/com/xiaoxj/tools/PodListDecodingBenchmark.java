@@ -0,0 +1,194 @@
+package com.xiaoxj.tools;
+
+import com.google.protobuf.ByteString;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.*;
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.proto.Resource;
+import io.kubernetes.client.proto.Runtime;
+import io.kubernetes.client.proto.V1;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding cost of one pod LIST page as the JSON model versus the protobuf wire encoding used by
+ * {@link ProtobufLists}. Both payloads describe the same synthetic pods, so no cluster is needed.
+ * Run with {@code mvn -f mcp-k8s-tools/pom.xml -Pjmh test-compile exec:exec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PodListDecodingBenchmark {
+
+    // Prefix the API server puts in front of every protobuf response
+    private static final byte[] MAGIC = {0x6b, 0x38, 0x73, 0x00};
+
+    @Param({"100", "1000"})
+    public int pods;
+
+    private JSON json;
+    private byte[] jsonBody;
+    private byte[] protobufBody;
+
+    @Setup
+    public void setUp() {
+        json = new JSON();
+        V1PodList modelList = new V1PodList().apiVersion("v1").kind("PodList").metadata(new V1ListMeta().resourceVersion("123456"));
+        V1.PodList.Builder protoList = V1.PodList.newBuilder()
+                .setMetadata(Meta.ListMeta.newBuilder().setResourceVersion("123456"));
+        for (int i = 0; i < pods; i++) {
+            modelList.addItemsItem(modelPod(i));
+            protoList.addItems(protoPod(i));
+        }
+        jsonBody = json.serialize(modelList).getBytes(StandardCharsets.UTF_8);
+
+        byte[] unknown = Runtime.Unknown.newBuilder()
+                .setTypeMeta(Runtime.TypeMeta.newBuilder().setApiVersion("v1").setKind("PodList"))
+                .setRaw(protoList.build().toByteString())
+                .setContentType("application/vnd.kubernetes.protobuf")
+                .build()
+                .toByteArray();
+        protobufBody = Arrays.copyOf(MAGIC, MAGIC.length + unknown.length);
+        System.arraycopy(unknown, 0, protobufBody, MAGIC.length, unknown.length);
+    }
+
+    @Benchmark
+    public V1PodList decodeJson() {
+        // ApiClient reads the body into a string before handing it to Gson
+        return json.deserialize(new String(jsonBody, StandardCharsets.UTF_8), V1PodList.class);
+    }
+
+    @Benchmark
+    public V1.PodList decodeProtobuf() throws Exception {
+        // Same steps as ProtoClient: strip the magic prefix, unwrap Unknown, parse the raw list
+        Runtime.Unknown unknown = Runtime.Unknown.parseFrom(
+                ByteString.copyFrom(protobufBody, MAGIC.length, protobufBody.length - MAGIC.length));
+        return V1.PodList.parseFrom(unknown.getRaw());
+    }
+
+    private static V1Pod modelPod(int i) {
+        OffsetDateTime created = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).plusSeconds(i);
+        return new V1Pod()
+                .metadata(new V1ObjectMeta()
+                        .name("web-" + i)
+                        .namespace("default")
+                        .uid("uid-" + i)
+                        .resourceVersion(String.valueOf(1000 + i))
+                        .creationTimestamp(created)
+                        .labels(Map.of("app", "web", "tier", "frontend", "pod-template-hash", "5d4f8c7b9"))
+                        .ownerReferences(List.of(new V1OwnerReference()
+                                .apiVersion("apps/v1").kind("ReplicaSet").name("web-5d4f8c7b9").uid("rs-uid").controller(true))))
+                .spec(new V1PodSpec()
+                        .nodeName("node-" + (i % 10))
+                        .containers(List.of(modelContainer("web", "nginx:1.25"), modelContainer("sidecar", "envoy:1.29"))))
+                .status(new V1PodStatus()
+                        .phase("Running")
+                        .podIP("10.0." + (i / 250) + "." + (i % 250))
+                        .hostIP("192.168.0." + (i % 10))
+                        .startTime(created)
+                        .conditions(List.of(
+                                new V1PodCondition().type("Initialized").status("True").lastTransitionTime(created),
+                                new V1PodCondition().type("Ready").status("True").lastTransitionTime(created),
+                                new V1PodCondition().type("ContainersReady").status("True").lastTransitionTime(created),
+                                new V1PodCondition().type("PodScheduled").status("True").lastTransitionTime(created)))
+                        .containerStatuses(List.of(modelStatus("web", "nginx:1.25", created), modelStatus("sidecar", "envoy:1.29", created))));
+    }
+
+    private static V1Container modelContainer(String name, String image) {
+        return new V1Container()
+                .name(name)
+                .image(image)
+                .ports(List.of(new V1ContainerPort().containerPort(8080).protocol("TCP")))
+                .resources(new V1ResourceRequirements()
+                        .requests(Map.of("cpu", Quantity.fromString("100m"), "memory", Quantity.fromString("128Mi")))
+                        .limits(Map.of("cpu", Quantity.fromString("500m"), "memory", Quantity.fromString("256Mi"))));
+    }
+
+    private static V1ContainerStatus modelStatus(String name, String image, OffsetDateTime startedAt) {
+        return new V1ContainerStatus()
+                .name(name)
+                .image(image)
+                .imageID("docker-pullable://" + image)
+                .containerID("containerd://" + name)
+                .ready(true)
+                .started(true)
+                .restartCount(0)
+                .state(new V1ContainerState().running(new V1ContainerStateRunning().startedAt(startedAt)));
+    }
+
+    private static V1.Pod protoPod(int i) {
+        Meta.Time created = Meta.Time.newBuilder()
+                .setSeconds(OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond() + i)
+                .build();
+        V1.PodStatus.Builder status = V1.PodStatus.newBuilder()
+                .setPhase("Running")
+                .setPodIP("10.0." + (i / 250) + "." + (i % 250))
+                .setHostIP("192.168.0." + (i % 10))
+                .setStartTime(created)
+                .addContainerStatuses(protoStatus("web", "nginx:1.25", created))
+                .addContainerStatuses(protoStatus("sidecar", "envoy:1.29", created));
+        for (String type : List.of("Initialized", "Ready", "ContainersReady", "PodScheduled")) {
+            status.addConditions(V1.PodCondition.newBuilder().setType(type).setStatus("True").setLastTransitionTime(created));
+        }
+        return V1.Pod.newBuilder()
+                .setMetadata(Meta.ObjectMeta.newBuilder()
+                        .setName("web-" + i)
+                        .setNamespace("default")
+                        .setUid("uid-" + i)
+                        .setResourceVersion(String.valueOf(1000 + i))
+                        .setCreationTimestamp(created)
+                        .putLabels("app", "web")
+                        .putLabels("tier", "frontend")
+                        .putLabels("pod-template-hash", "5d4f8c7b9")
+                        .addOwnerReferences(Meta.OwnerReference.newBuilder()
+                                .setApiVersion("apps/v1").setKind("ReplicaSet").setName("web-5d4f8c7b9").setUid("rs-uid").setController(true)))
+                .setSpec(V1.PodSpec.newBuilder()
+                        .setNodeName("node-" + (i % 10))
+                        .addContainers(protoContainer("web", "nginx:1.25"))
+                        .addContainers(protoContainer("sidecar", "envoy:1.29")))
+                .setStatus(status)
+                .build();
+    }
+
+    private static V1.Container protoContainer(String name, String image) {
+        return V1.Container.newBuilder()
+                .setName(name)
+                .setImage(image)
+                .addPorts(V1.ContainerPort.newBuilder().setContainerPort(8080).setProtocol("TCP"))
+                .setResources(V1.ResourceRequirements.newBuilder()
+                        .putRequests("cpu", quantity("100m"))
+                        .putRequests("memory", quantity("128Mi"))
+                        .putLimits("cpu", quantity("500m"))
+                        .putLimits("memory", quantity("256Mi")))
+                .build();
+    }
+
+    private static V1.ContainerStatus protoStatus(String name, String image, Meta.Time startedAt) {
+        return V1.ContainerStatus.newBuilder()
+                .setName(name)
+                .setImage(image)
+                .setImageID("docker-pullable://" + image)
+                .setContainerID("containerd://" + name)
+                .setReady(true)
+                .setStarted(true)
+                .setRestartCount(0)
+                .setState(V1.ContainerState.newBuilder()
+                        .setRunning(V1.ContainerStateRunning.newBuilder().setStartedAt(startedAt)))
+                .build();
+    }
+
+    private static Resource.Quantity quantity(String value) {
+        return Resource.Quantity.newBuilder().setString(value).build();
+    }
+}
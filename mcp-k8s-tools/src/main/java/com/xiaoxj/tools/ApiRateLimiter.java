@@ -0,0 +1,178 @@
+package com.xiaoxj.tools;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side token-bucket limiter for the tools' API client. Every request draws a token from its
+ * lane's bucket and from a shared bucket for the whole client. Lanes are served in priority order
+ * for the shared budget, so a waiting mutation always goes before queued reads.
+ */
+@Service
+public class ApiRateLimiter implements Interceptor {
+
+    /**
+     * Request lanes, highest priority first. Reads that are not cluster-wide collection LISTs,
+     * including single-object reads of cluster-scoped resources, use {@link #NAMESPACED_READ}.
+     */
+    public enum Lane {
+        MUTATION, NAMESPACED_READ, CLUSTER_LIST
+    }
+
+    private final boolean enabled;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition tokensReturned = lock.newCondition();
+    private final TokenBucket shared;
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+
+    public ApiRateLimiter(@Value("${k8s.tools.rate-limit.enabled:true}") boolean enabled,
+                          @Value("${k8s.tools.rate-limit.qps:50}") double qps,
+                          @Value("${k8s.tools.rate-limit.burst:100}") int burst,
+                          @Value("${k8s.tools.rate-limit.mutation.qps:10}") double mutationQps,
+                          @Value("${k8s.tools.rate-limit.mutation.burst:20}") int mutationBurst,
+                          @Value("${k8s.tools.rate-limit.namespaced-read.qps:30}") double namespacedReadQps,
+                          @Value("${k8s.tools.rate-limit.namespaced-read.burst:60}") int namespacedReadBurst,
+                          @Value("${k8s.tools.rate-limit.cluster-list.qps:5}") double clusterListQps,
+                          @Value("${k8s.tools.rate-limit.cluster-list.burst:10}") int clusterListBurst,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.shared = new TokenBucket(qps, burst);
+        lanes.put(Lane.MUTATION, new LaneState(Lane.MUTATION, mutationQps, mutationBurst, meterRegistry));
+        lanes.put(Lane.NAMESPACED_READ, new LaneState(Lane.NAMESPACED_READ, namespacedReadQps, namespacedReadBurst, meterRegistry));
+        lanes.put(Lane.CLUSTER_LIST, new LaneState(Lane.CLUSTER_LIST, clusterListQps, clusterListBurst, meterRegistry));
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (enabled && !"true".equals(request.url().queryParameter("watch"))) {
+            acquire(laneOf(request));
+        }
+        return chain.proceed(request);
+    }
+
+    void acquire(Lane lane) throws InterruptedIOException {
+        LaneState state = lanes.get(lane);
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            state.waiting++;
+            while (true) {
+                long now = System.nanoTime();
+                shared.refill(now);
+                state.bucket.refill(now);
+                if (state.bucket.available() && shared.available() && !higherPriorityReady(lane, now)) {
+                    state.bucket.take();
+                    shared.take();
+                    break;
+                }
+                long waitNanos = Math.max(state.bucket.nanosUntilToken(), shared.nanosUntilToken());
+                tokensReturned.awaitNanos(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an API rate limit token");
+        } finally {
+            state.waiting--;
+            tokensReturned.signalAll();
+            lock.unlock();
+            state.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // A higher lane only holds back lower ones while it has a waiter that its own budget would admit
+    private boolean higherPriorityReady(Lane lane, long now) {
+        for (Lane higher : Lane.values()) {
+            if (higher == lane) {
+                return false;
+            }
+            LaneState state = lanes.get(higher);
+            state.bucket.refill(now);
+            if (state.waiting > 0 && state.bucket.available()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Lane laneOf(Request request) {
+        if (!"GET".equals(request.method())) {
+            return Lane.MUTATION;
+        }
+        List<String> segments = request.url().pathSegments();
+        // /api/v1/... or /apis/{group}/{version}/...
+        int prefix = !segments.isEmpty() && "apis".equals(segments.get(0)) ? 3 : 2;
+        List<String> resourcePath = segments.size() > prefix ? segments.subList(prefix, segments.size()) : List.of();
+        if (resourcePath.size() >= 3 && "namespaces".equals(resourcePath.get(0))) {
+            return Lane.NAMESPACED_READ;
+        }
+        return resourcePath.size() <= 1 ? Lane.CLUSTER_LIST : Lane.NAMESPACED_READ;
+    }
+
+    private static final class LaneState {
+        private final TokenBucket bucket;
+        private final Timer waitTimer;
+        private volatile int waiting;
+
+        LaneState(Lane lane, double qps, int burst, MeterRegistry registry) {
+            this.bucket = new TokenBucket(qps, burst);
+            String tag = lane.name().toLowerCase();
+            this.waitTimer = Timer.builder("k8s.api.rate_limiter.wait")
+                    .tag("lane", tag)
+                    .register(registry);
+            Gauge.builder("k8s.api.rate_limiter.queue_depth", this, state -> state.waiting)
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Token bucket refilled continuously at {@code qps} up to {@code burst}. Guarded by the
+     * limiter's lock.
+     */
+    private static final class TokenBucket {
+        private final double nanosPerToken;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double qps, int burst) {
+            this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / qps;
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) / nanosPerToken);
+            lastRefill = now;
+        }
+
+        boolean available() {
+            return tokens >= 1;
+        }
+
+        void take() {
+            tokens -= 1;
+        }
+
+        long nanosUntilToken() {
+            return available() ? 0 : (long) ((1 - tokens) * nanosPerToken);
+        }
+    }
+}
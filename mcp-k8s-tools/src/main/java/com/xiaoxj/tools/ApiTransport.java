@@ -0,0 +1,107 @@
+package com.xiaoxj.tools;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OkHttp transport settings for the Kubernetes API clients, under {@code k8s.tools.transport.*}.
+ * Covers the connection pool, HTTP/2, response compression, dispatcher limits, and read timeouts
+ * that differ for streaming calls (watches, followed logs) and request/response calls. Pool and
+ * dispatcher stats are exported per client as {@code k8s.api.connection_pool.*} and
+ * {@code k8s.api.dispatcher.*}.
+ */
+@Service
+public class ApiTransport {
+
+    private final int maxIdleConnections;
+    private final Duration keepAlive;
+    private final boolean http2;
+    private final boolean gzip;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration watchReadTimeout;
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+    private final MeterRegistry meterRegistry;
+
+    public ApiTransport(@Value("${k8s.tools.transport.max-idle-connections:16}") int maxIdleConnections,
+                        @Value("${k8s.tools.transport.keep-alive:5m}") Duration keepAlive,
+                        @Value("${k8s.tools.transport.http2:true}") boolean http2,
+                        @Value("${k8s.tools.transport.gzip:true}") boolean gzip,
+                        @Value("${k8s.tools.transport.connect-timeout:10s}") Duration connectTimeout,
+                        @Value("${k8s.tools.transport.read-timeout:30s}") Duration readTimeout,
+                        @Value("${k8s.tools.transport.watch-read-timeout:0s}") Duration watchReadTimeout,
+                        @Value("${k8s.tools.transport.max-requests:128}") int maxRequests,
+                        @Value("${k8s.tools.transport.max-requests-per-host:64}") int maxRequestsPerHost,
+                        MeterRegistry meterRegistry) {
+        this.maxIdleConnections = maxIdleConnections;
+        this.keepAlive = keepAlive;
+        this.http2 = http2;
+        this.gzip = gzip;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.watchReadTimeout = watchReadTimeout;
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Applies the transport settings to a client and registers its stats under the
+     * {@code client} tag. The dispatcher's limits are set here as well.
+     */
+    public OkHttpClient.Builder configure(OkHttpClient.Builder httpClient, String clientName, Dispatcher dispatcher) {
+        ConnectionPool connectionPool = new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        httpClient.connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .addInterceptor(chain -> {
+                    Request request = chain.request();
+                    if (!gzip && request.header("Accept-Encoding") == null) {
+                        // OkHttp asks for gzip and inflates transparently unless the header is already set
+                        request = request.newBuilder().header("Accept-Encoding", "identity").build();
+                    }
+                    if (isStreaming(request)) {
+                        return chain.withReadTimeout((int) watchReadTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                                .proceed(request);
+                    }
+                    return chain.proceed(request);
+                });
+
+        Gauge.builder("k8s.api.connection_pool.connections", connectionPool, ConnectionPool::connectionCount)
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("k8s.api.connection_pool.idle", connectionPool, ConnectionPool::idleConnectionCount)
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("k8s.api.dispatcher.running", dispatcher, Dispatcher::runningCallsCount)
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("k8s.api.dispatcher.queued", dispatcher, Dispatcher::queuedCallsCount)
+                .tag("client", clientName)
+                .register(meterRegistry);
+        return httpClient;
+    }
+
+    private static boolean isStreaming(Request request) {
+        String watch = request.url().queryParameter("watch");
+        String follow = request.url().queryParameter("follow");
+        return "true".equalsIgnoreCase(watch) || "1".equals(watch) || "true".equalsIgnoreCase(follow);
+    }
+}
@@ -0,0 +1,54 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.openapi.ApiCallback;
+import io.kubernetes.client.openapi.ApiException;
+import okhttp3.Call;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bridges the generated {@code *Async} API methods to Reactor. The request is enqueued on the
+ * client's OkHttp dispatcher when the {@link Mono} is subscribed and cancelled if the subscriber
+ * goes away, so no thread waits on the response.
+ */
+final class AsyncCalls {
+
+    @FunctionalInterface
+    interface AsyncCall<T> {
+        Call enqueue(ApiCallback<T> callback) throws ApiException;
+    }
+
+    private AsyncCalls() {
+    }
+
+    static <T> Mono<T> mono(AsyncCall<T> call) {
+        return Mono.create(sink -> {
+            try {
+                Call pending = call.enqueue(new ApiCallback<>() {
+                    @Override
+                    public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+                        sink.error(e);
+                    }
+
+                    @Override
+                    public void onSuccess(T result, int statusCode, Map<String, List<String>> responseHeaders) {
+                        sink.success(result);
+                    }
+
+                    @Override
+                    public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+                    }
+
+                    @Override
+                    public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+                    }
+                });
+                sink.onCancel(pending::cancel);
+            } catch (ApiException e) {
+                sink.error(e);
+            }
+        });
+    }
+}
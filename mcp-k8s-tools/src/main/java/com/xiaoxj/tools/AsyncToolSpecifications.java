@@ -0,0 +1,64 @@
+package com.xiaoxj.tools;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Tool specifications for the ASYNC MCP server. Tools with a Reactor variant are answered by it
+ * directly; the rest keep their blocking implementation, offloaded to Reactor's bounded elastic
+ * scheduler. Names, descriptions and input schemas always come from the {@code @Tool} methods.
+ * A variant reports failure by signalling an error, which becomes a result with {@code isError}
+ * set: the message of a {@link ToolErrorException} as is, anything else prefixed with the tool name.
+ */
+final class AsyncToolSpecifications {
+
+    private static final ToolCallResultConverter RESULT_CONVERTER = new DefaultToolCallResultConverter();
+
+    private AsyncToolSpecifications() {
+    }
+
+    static List<McpServerFeatures.AsyncToolSpecification> of(
+            ToolCallback[] toolCallbacks,
+            Map<String, Function<Map<String, Object>, Mono<?>>> reactiveVariants,
+            ToolBulkheads toolBulkheads) {
+        List<McpServerFeatures.AsyncToolSpecification> specifications = new ArrayList<>(toolCallbacks.length);
+        for (ToolCallback toolCallback : toolCallbacks) {
+            McpServerFeatures.AsyncToolSpecification offloaded = McpToolUtils.toAsyncToolSpecification(toolCallback);
+            String toolName = toolCallback.getToolDefinition().name();
+            Function<Map<String, Object>, Mono<?>> variant = reactiveVariants.get(toolName);
+            if (variant == null) {
+                specifications.add(offloaded);
+                continue;
+            }
+            specifications.add(new McpServerFeatures.AsyncToolSpecification(offloaded.tool(),
+                    (exchange, arguments) -> toolBulkheads.guard(toolName, () -> variant.apply(arguments))
+                            .map(result -> new McpSchema.CallToolResult(RESULT_CONVERTER.convert(result, null), false))
+                            .onErrorResume(e -> Mono.just(new McpSchema.CallToolResult(e instanceof ToolErrorException ?
+                                    e.getMessage() : "Error running tool '" + toolName + "': " + e.getMessage(), true)))));
+        }
+        return specifications;
+    }
+
+    static String stringArgument(Map<String, Object> arguments, String name) {
+        Object value = arguments.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    static int intArgument(Map<String, Object> arguments, String name, int defaultValue) {
+        Object value = arguments.get(name);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return value != null ? Integer.parseInt(value.toString()) : defaultValue;
+    }
+}
@@ -0,0 +1,169 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1Pod;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Map.entry;
+
+/**
+ * Generation counters for the resource types the informers watch, kept per namespace and for the
+ * whole cluster. Every add, update or delete seen by an informer bumps the generation of its
+ * object's namespace and the cluster-wide one, so two equal generations mean the cached state of
+ * that resource did not change in between. Callers use this to tell whether an answer built from
+ * tool output is still current. Resources whose informer is not running never sync, and tools
+ * that read them are not tracked.
+ */
+@Service
+public class ClusterSnapshot {
+
+    // What each tracked tool reads: one namespace (from its arguments) or the whole cluster
+    private static final Map<String, List<Scope>> TOOL_READS = Map.ofEntries(
+            entry("list_pods", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("describe_pods", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("get_pods_metrics", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("diagnose_pods", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("list_pod_tolerations", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("list_pod_node_affinity", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("get_failed_workloads", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("get_namespace_resource_usage", List.of(Scope.namespace(ProtobufLists.PODS))),
+            entry("analyze_resource_bottlenecks", List.of(Scope.namespace(ProtobufLists.PODS), Scope.namespace(ProtobufLists.EVENTS))),
+            entry("describe_deployment", List.of(Scope.namespace(ProtobufLists.DEPLOYMENTS), Scope.namespace(ProtobufLists.PODS))),
+            entry("describe_deployments", List.of(Scope.namespace(ProtobufLists.DEPLOYMENTS), Scope.namespace(ProtobufLists.PODS))),
+            entry("analyze_deployment", List.of(Scope.namespace(ProtobufLists.DEPLOYMENTS), Scope.namespace(ProtobufLists.PODS))),
+            entry("list_nodes", List.of(Scope.cluster(ProtobufLists.NODES))),
+            entry("get_node_metrics", List.of(Scope.cluster(ProtobufLists.NODES), Scope.cluster(ProtobufLists.PODS))),
+            entry("get_cluster_resource_usage", List.of(Scope.cluster(ProtobufLists.NODES), Scope.cluster(ProtobufLists.PODS))),
+            entry("check_cluster_health", List.of(Scope.cluster(ProtobufLists.NODES), Scope.cluster(ProtobufLists.PODS),
+                    Scope.cluster(ProtobufLists.DEPLOYMENTS))),
+            entry("get_recent_events", List.of(Scope.namespace(ProtobufLists.EVENTS))));
+
+    // Served from EventStore whenever it has synced, whatever the tool's read consistency
+    private static final Set<String> ALWAYS_CACHED = Set.of("get_recent_events");
+
+    private final ReadConsistency readConsistency;
+    private final Map<String, SharedIndexInformer<?>> informers = new HashMap<>();
+    private final Map<String, Generations> generations = new HashMap<>();
+
+    public ClusterSnapshot(SharedIndexInformer<V1Pod> podInformer, SharedIndexInformer<CoreV1Event> eventInformer,
+                           SharedIndexInformer<V1Node> nodeInformer, SharedIndexInformer<V1Deployment> deploymentInformer,
+                           ReadConsistency readConsistency) {
+        this.readConsistency = readConsistency;
+        track(ProtobufLists.PODS, podInformer);
+        track(ProtobufLists.EVENTS, eventInformer);
+        track(ProtobufLists.NODES, nodeInformer);
+        track(ProtobufLists.DEPLOYMENTS, deploymentInformer);
+    }
+
+    /**
+     * The cached state one call of the tool reads, or an empty list when the call cannot be
+     * checked against the informer caches: the tool is not tracked, its reads are quorum reads,
+     * or an informer it depends on has not synced.
+     */
+    public List<Read> cachedReads(String toolName, Map<String, Object> arguments) {
+        List<Scope> scopes = TOOL_READS.get(toolName);
+        if (scopes == null || (!ALWAYS_CACHED.contains(toolName) && !readConsistency.allowsStale(toolName))) {
+            return List.of();
+        }
+        List<Read> reads = new ArrayList<>(scopes.size());
+        for (Scope scope : scopes) {
+            if (!informers.get(scope.resource()).hasSynced()) {
+                return List.of();
+            }
+            reads.add(new Read(scope.resource(), scope.namespaced() ? namespaceArgument(arguments) : null));
+        }
+        return reads;
+    }
+
+    /**
+     * Current generation of the read, or null when its informer has not synced.
+     */
+    public Long generation(Read read) {
+        if (!informers.get(read.resource()).hasSynced()) {
+            return null;
+        }
+        Generations resource = generations.get(read.resource());
+        if (read.namespace() == null) {
+            return resource.cluster().get();
+        }
+        AtomicLong generation = resource.namespaces().get(read.namespace());
+        return generation != null ? generation.get() : 0L;
+    }
+
+    // Same fallback as the tools: namespace, then defaultNamespace, then "default"
+    private static String namespaceArgument(Map<String, Object> arguments) {
+        for (String name : List.of("namespace", "defaultNamespace")) {
+            Object value = arguments.get(name);
+            if (value != null && !value.toString().isBlank()) {
+                return value.toString();
+            }
+        }
+        return "default";
+    }
+
+    private <T extends KubernetesObject> void track(String resource, SharedIndexInformer<T> informer) {
+        Generations counters = new Generations(new AtomicLong(), new ConcurrentHashMap<>());
+        informers.put(resource, informer);
+        generations.put(resource, counters);
+        informer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(T obj) {
+                counters.bump(obj);
+            }
+
+            @Override
+            public void onUpdate(T oldObj, T newObj) {
+                // Periodic resyncs redeliver unchanged objects
+                if (!Objects.equals(resourceVersion(oldObj), resourceVersion(newObj))) {
+                    counters.bump(newObj);
+                }
+            }
+
+            @Override
+            public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+                counters.bump(obj);
+            }
+        });
+    }
+
+    private static String resourceVersion(KubernetesObject obj) {
+        return obj.getMetadata() != null ? obj.getMetadata().getResourceVersion() : null;
+    }
+
+    /**
+     * Cached state of one tracked resource: a namespace of it, or all of it when {@code namespace}
+     * is null. Cluster-scoped resources such as nodes are always read whole.
+     */
+    public record Read(String resource, String namespace) {
+    }
+
+    private record Scope(String resource, boolean namespaced) {
+
+        static Scope namespace(String resource) {
+            return new Scope(resource, true);
+        }
+
+        static Scope cluster(String resource) {
+            return new Scope(resource, false);
+        }
+    }
+
+    private record Generations(AtomicLong cluster, Map<String, AtomicLong> namespaces) {
+
+        void bump(KubernetesObject obj) {
+            String namespace = obj.getMetadata() != null && obj.getMetadata().getNamespace() != null ?
+                    obj.getMetadata().getNamespace() : "";
+            namespaces.computeIfAbsent(namespace, key -> new AtomicLong()).incrementAndGet();
+            cluster.incrementAndGet();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.xiaoxj.tools;
 
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
+import okhttp3.Call;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
@@ -26,9 +28,15 @@ public class ConfigMapAndSecretTools {
     @Tool(name = "list_config_maps", description = "Lists all ConfigMaps in the specified namespace")
     public List<String> listConfigMaps(
             @ToolParam(description = "The Kubernetes namespace to list ConfigMaps from") String namespace,
-            @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
+            @ToolParam(description = "Default namespace if not specified") String defaultNamespace,
+            @ToolParam(description = "Also list data keys; this downloads every ConfigMap's data, so only set it when keys are needed", required = false) Boolean includeDataKeys) {
         try {
-            return coreV1Api.listNamespacedConfigMap(namespace != null ? namespace : defaultNamespace,
+            String ns = namespace != null ? namespace : defaultNamespace;
+            if (!Boolean.TRUE.equals(includeDataKeys)) {
+                return listMetadata(coreV1Api.listNamespacedConfigMapCall(ns,
+                        null, null, null, null, null, null, null, null, null, null, null));
+            }
+            return coreV1Api.listNamespacedConfigMap(ns,
                             null, null, null, null, null, null, null, null, null, null)
                     .getItems()
                     .stream()
@@ -101,9 +109,15 @@ public class ConfigMapAndSecretTools {
     @Tool(name = "list_secrets", description = "Lists all Secrets in the specified namespace (names only for security)")
     public List<String> listSecrets(
             @ToolParam(description = "The Kubernetes namespace to list Secrets from") String namespace,
-            @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
+            @ToolParam(description = "Default namespace if not specified") String defaultNamespace,
+            @ToolParam(description = "Also show the Secret type; this downloads every Secret's data, so only set it when the type is needed", required = false) Boolean includeType) {
         try {
-            return coreV1Api.listNamespacedSecret(namespace != null ? namespace : defaultNamespace,
+            String ns = namespace != null ? namespace : defaultNamespace;
+            if (!Boolean.TRUE.equals(includeType)) {
+                return listMetadata(coreV1Api.listNamespacedSecretCall(ns,
+                        null, null, null, null, null, null, null, null, null, null, null));
+            }
+            return coreV1Api.listNamespacedSecret(ns,
                             null, null, null, null, null, null, null, null, null, null)
                     .getItems()
                     .stream()
@@ -165,4 +179,16 @@ public class ConfigMapAndSecretTools {
             return "Error describing Secret: " + e.getMessage();
         }
     }
+
+    private List<String> listMetadata(Call listCall) throws ApiException {
+        return PartialObjectMetadataList.list(coreV1Api.getApiClient(), listCall).stream()
+                .map(metadata ->
+                        metadata.getName() +
+                                "\n  - Created: " + metadata.getCreationTimestamp() +
+                                "\n  - Labels: " + (metadata.getLabels() != null ?
+                                metadata.getLabels().entrySet().stream()
+                                        .map(e -> e.getKey() + "=" + e.getValue())
+                                        .collect(Collectors.joining(", ")) : "No labels"))
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
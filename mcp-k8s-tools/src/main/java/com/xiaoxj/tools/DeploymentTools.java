@@ -5,12 +5,20 @@ import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1ContainerStatus;
 import io.kubernetes.client.openapi.models.V1Deployment;
 import io.kubernetes.client.openapi.models.V1DeploymentCondition;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1LabelSelector;
 import io.kubernetes.client.openapi.models.V1Pod;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,10 +26,14 @@ public class DeploymentTools {
 
     private final AppsV1Api appsV1Api;
     private final CoreV1Api coreV1Api;
+    private final PodCache podCache;
+    private final ReadConsistency readConsistency;
 
-    public DeploymentTools(AppsV1Api appsV1Api, CoreV1Api coreV1Api) {
+    public DeploymentTools(AppsV1Api appsV1Api, CoreV1Api coreV1Api, PodCache podCache, ReadConsistency readConsistency) {
         this.appsV1Api = appsV1Api;
         this.coreV1Api = coreV1Api;
+        this.podCache = podCache;
+        this.readConsistency = readConsistency;
     }
 
 //    @Tool(name = "list_deployments", description = "Lists all Kubernetes deployments in the specified namespace")
@@ -36,71 +48,85 @@ public class DeploymentTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            var deployments = appsV1Api.listNamespacedDeployment(ns, null, null, null, null, null, null, null, null, null, null)
-                    .getItems();
+            return renderDeployments(ns, appsV1Api.listNamespacedDeployment(ns, null, null, null, null, null, null, null, null, null, null)
+                    .getItems());
+        } catch (Exception e) {
+            return listDeploymentsError(namespace != null ? namespace : defaultNamespace, e);
+        }
+    }
 
-            if (deployments.isEmpty()) {
-                return "No deployments found in namespace '" + ns + "'";
-            }
+    public Mono<String> listDeploymentsAsync(String namespace, String defaultNamespace) {
+        String ns = namespace != null ? namespace : defaultNamespace;
+        return AsyncCalls.<V1DeploymentList>mono(callback -> appsV1Api.listNamespacedDeploymentAsync(
+                        ns, null, null, null, null, null, null, null, null, null, null, callback))
+                .map(deployments -> renderDeployments(ns, deployments.getItems()))
+                .onErrorMap(e -> new ToolErrorException(listDeploymentsError(ns, e), e));
+    }
 
-            List<String> deploymentList = deployments.stream()
-                    .map(deployment -> {
-                        String name = deployment.getMetadata() != null ? deployment.getMetadata().getName() : null;
-                        if (name == null) return null;
-
-                        int availableReplicas = deployment.getStatus() != null && deployment.getStatus().getAvailableReplicas() != null ?
-                                deployment.getStatus().getAvailableReplicas() : 0;
-                        int desiredReplicas = deployment.getSpec() != null && deployment.getSpec().getReplicas() != null ?
-                                deployment.getSpec().getReplicas() : 0;
-                        String strategy = deployment.getSpec() != null && deployment.getSpec().getStrategy() != null ?
-                                deployment.getSpec().getStrategy().getType() : "Not set";
-
-                        String resourceInfo = "";
-                        if (deployment.getSpec() != null && deployment.getSpec().getTemplate() != null &&
-                                deployment.getSpec().getTemplate().getSpec() != null &&
-                                deployment.getSpec().getTemplate().getSpec().getContainers() != null) {
-
-                            resourceInfo = deployment.getSpec().getTemplate().getSpec().getContainers().stream()
-                                    .map(container -> {
-                                        String cpuRequest = container.getResources() != null && container.getResources().getRequests() != null ?
-                                                String.valueOf(container.getResources().getRequests().get("cpu")) : "Not set";
-                                        String memRequest = container.getResources() != null && container.getResources().getRequests() != null ?
-                                                String.valueOf(container.getResources().getRequests().get("memory")) : "Not set";
-                                        String image = container.getImage() != null ? container.getImage() : "No image";
-                                        return "\n    " + container.getName() + ":\n" +
-                                                "      Image: " + image + "\n" +
-                                                "      CPU Request: " + cpuRequest + "\n" +
-                                                "      Memory Request: " + memRequest;
-                                    })
-                                    .collect(Collectors.joining("\n"));
-                        } else {
-                            resourceInfo = "No container specs found";
-                        }
-
-                        return "Deployment: " + name + "\n" +
-                                "  Status:\n" +
-                                "    Replicas: " + availableReplicas + "/" + desiredReplicas + "\n" +
-                                "    Strategy: " + strategy + "\n" +
-                                "  Containers:" + resourceInfo + "\n";
-                    })
-                    .filter(item -> item != null)
-                    .collect(Collectors.toList());
+    private String renderDeployments(String ns, List<V1Deployment> deployments) {
+        if (deployments.isEmpty()) {
+            return "No deployments found in namespace '" + ns + "'";
+        }
 
-            if (deploymentList.isEmpty()) {
-                return "No valid deployments found in namespace '" + ns + "'";
-            } else {
-                return "Found " + deploymentList.size() + " deployment(s) in namespace '" + ns + "':\n\n" +
-                        String.join("\n", deploymentList);
-            }
-        } catch (Exception e) {
-            return "Error listing deployments in namespace '" + (namespace != null ? namespace : defaultNamespace) + "': " + e.getMessage() + "\n" +
-                    "Please ensure:\n" +
-                    "1. You have a valid kubeconfig file\n" +
-                    "2. The cluster is accessible\n" +
-                    "3. You have permissions to list deployments in the '" + (namespace != null ? namespace : defaultNamespace) + "' namespace";
+        List<String> deploymentList = deployments.stream()
+                .map(deployment -> {
+                    String name = deployment.getMetadata() != null ? deployment.getMetadata().getName() : null;
+                    if (name == null) return null;
+
+                    int availableReplicas = deployment.getStatus() != null && deployment.getStatus().getAvailableReplicas() != null ?
+                            deployment.getStatus().getAvailableReplicas() : 0;
+                    int desiredReplicas = deployment.getSpec() != null && deployment.getSpec().getReplicas() != null ?
+                            deployment.getSpec().getReplicas() : 0;
+                    String strategy = deployment.getSpec() != null && deployment.getSpec().getStrategy() != null ?
+                            deployment.getSpec().getStrategy().getType() : "Not set";
+
+                    String resourceInfo = "";
+                    if (deployment.getSpec() != null && deployment.getSpec().getTemplate() != null &&
+                            deployment.getSpec().getTemplate().getSpec() != null &&
+                            deployment.getSpec().getTemplate().getSpec().getContainers() != null) {
+
+                        resourceInfo = deployment.getSpec().getTemplate().getSpec().getContainers().stream()
+                                .map(container -> {
+                                    String cpuRequest = container.getResources() != null && container.getResources().getRequests() != null ?
+                                            String.valueOf(container.getResources().getRequests().get("cpu")) : "Not set";
+                                    String memRequest = container.getResources() != null && container.getResources().getRequests() != null ?
+                                            String.valueOf(container.getResources().getRequests().get("memory")) : "Not set";
+                                    String image = container.getImage() != null ? container.getImage() : "No image";
+                                    return "\n    " + container.getName() + ":\n" +
+                                            "      Image: " + image + "\n" +
+                                            "      CPU Request: " + cpuRequest + "\n" +
+                                            "      Memory Request: " + memRequest;
+                                })
+                                .collect(Collectors.joining("\n"));
+                    } else {
+                        resourceInfo = "No container specs found";
+                    }
+
+                    return "Deployment: " + name + "\n" +
+                            "  Status:\n" +
+                            "    Replicas: " + availableReplicas + "/" + desiredReplicas + "\n" +
+                            "    Strategy: " + strategy + "\n" +
+                            "  Containers:" + resourceInfo + "\n";
+                })
+                .filter(item -> item != null)
+                .collect(Collectors.toList());
+
+        if (deploymentList.isEmpty()) {
+            return "No valid deployments found in namespace '" + ns + "'";
+        } else {
+            return "Found " + deploymentList.size() + " deployment(s) in namespace '" + ns + "':\n\n" +
+                    String.join("\n", deploymentList);
         }
     }
 
+    private String listDeploymentsError(String ns, Throwable e) {
+        return "Error listing deployments in namespace '" + ns + "': " + e.getMessage() + "\n" +
+                "Please ensure:\n" +
+                "1. You have a valid kubeconfig file\n" +
+                "2. The cluster is accessible\n" +
+                "3. You have permissions to list deployments in the '" + ns + "' namespace";
+    }
+
 //    @Tool(name = "describe_deployment", description = "Get detailed information about a specific deployment")
 //    public String describeDeployment(
 //            @ToolParam(description = "Name of the deployment to describe") String deploymentName,
@@ -116,110 +142,177 @@ public class DeploymentTools {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
             V1Deployment deployment = appsV1Api.readNamespacedDeployment(deploymentName, ns, null);
-            String selector = deployment.getSpec() != null && deployment.getSpec().getSelector() != null &&
-                    deployment.getSpec().getSelector().getMatchLabels() != null ?
-                    deployment.getSpec().getSelector().getMatchLabels().entrySet().stream()
-                            .map(e -> e.getKey() + "=" + e.getValue())
-                            .collect(Collectors.joining(",")) : null;
+            return renderDeploymentDescription(deployment, podCache.listPodsMatching(ns,
+                    deployment.getSpec() != null ? deployment.getSpec().getSelector() : null,
+                    readConsistency.allowsStale("describe_deployment"))) +
+                    "\n\n" + readConsistency.describe("describe_deployment", podCache);
+        } catch (Exception e) {
+            return "Error describing deployment '" + deploymentName + "' in namespace '" +
+                    (namespace != null ? namespace : defaultNamespace) + "': " + e.getMessage() + "\n" +
+                    "Please ensure:\n" +
+                    "1. You have a valid kubeconfig file\n" +
+                    "2. The cluster is accessible\n" +
+                    "3. The deployment '" + deploymentName + "' exists in namespace '" +
+                    (namespace != null ? namespace : defaultNamespace) + "'\n" +
+                    "4. You have permissions to view deployments in this namespace";
+        }
+    }
 
-            List<V1Pod> pods = coreV1Api.listNamespacedPod(ns, null, null, null, null, selector, null, null, null, null, null)
-                    .getItems();
+    @Tool(name = "describe_deployments", description = "Get details of several deployments in one call, selected by names or a label selector")
+    public String describeDeployments(
+            @ToolParam(description = "Names of the deployments to describe", required = false) List<String> deploymentNames,
+            @ToolParam(description = "Label selector such as app=web,tier!=db; used when no names are given", required = false) String labelSelector,
+            @ToolParam(description = "The Kubernetes namespace where the deployments are located") String namespace,
+            @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
+        String ns = namespace != null ? namespace : defaultNamespace;
+        boolean byName = deploymentNames != null && !deploymentNames.isEmpty();
+        if (!byName && (labelSelector == null || labelSelector.isBlank())) {
+            return "Error: specify deployment names or a label selector";
+        }
+        try {
+            // One deployment LIST, then the pods: indexed lookups on a synced cache, else one pod LIST
+            List<V1Deployment> deployments = appsV1Api.listNamespacedDeployment(ns, null, null, null, null,
+                    byName ? null : labelSelector, null, readConsistency.resourceVersion("describe_deployments"),
+                    null, null, null).getItems();
+            if (byName) {
+                Map<String, V1Deployment> byNameIndex = new HashMap<>();
+                for (V1Deployment deployment : deployments) {
+                    byNameIndex.put(deployment.getMetadata().getName(), deployment);
+                }
+                deployments = deploymentNames.stream().distinct()
+                        .map(byNameIndex::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+            }
+            if (deployments.isEmpty()) {
+                return "No matching deployments found in namespace '" + ns + "'";
+            }
 
+            boolean allowStale = readConsistency.allowsStale("describe_deployments");
+            boolean fromCache = allowStale && podCache.hasSynced();
+            List<V1Pod> namespacePods = fromCache ? null : podCache.listNamespacedPods(ns, allowStale);
             StringBuilder sb = new StringBuilder();
-            sb.append("Deployment: ").append(deployment.getMetadata() != null ? deployment.getMetadata().getName() : "").append("\n");
-            sb.append("Namespace: ").append(deployment.getMetadata() != null ? deployment.getMetadata().getNamespace() : "").append("\n\n");
-
-            sb.append("Spec:\n");
-            sb.append("  Replicas: ").append(deployment.getSpec() != null ? deployment.getSpec().getReplicas() : null).append("\n");
-            sb.append("  Strategy: ").append(deployment.getSpec() != null && deployment.getSpec().getStrategy() != null ?
-                    deployment.getSpec().getStrategy().getType() : null).append("\n");
-            sb.append("  Selector: ").append(deployment.getSpec() != null && deployment.getSpec().getSelector() != null &&
-                    deployment.getSpec().getSelector().getMatchLabels() != null ?
-                    deployment.getSpec().getSelector().getMatchLabels().entrySet().stream()
-                            .map(e -> e.getKey() + "=" + e.getValue())
-                            .collect(Collectors.joining(", ")) : "").append("\n\n");
-
-            sb.append("Template:\n");
-            sb.append("  Labels: ").append(deployment.getSpec() != null && deployment.getSpec().getTemplate() != null &&
-                    deployment.getSpec().getTemplate().getMetadata() != null &&
-                    deployment.getSpec().getTemplate().getMetadata().getLabels() != null ?
-                    deployment.getSpec().getTemplate().getMetadata().getLabels().entrySet().stream()
-                            .map(e -> e.getKey() + "=" + e.getValue())
-                            .collect(Collectors.joining(", ")) : "").append("\n");
-            sb.append("  Containers:\n");
-
-            if (deployment.getSpec() != null && deployment.getSpec().getTemplate() != null &&
-                    deployment.getSpec().getTemplate().getSpec() != null &&
-                    deployment.getSpec().getTemplate().getSpec().getContainers() != null) {
-
-                sb.append(deployment.getSpec().getTemplate().getSpec().getContainers().stream()
-                        .map(container -> {
-                            String ports = container.getPorts() != null ?
-                                    container.getPorts().stream()
-                                            .map(p -> p.getContainerPort() + "/" + p.getProtocol())
-                                            .collect(Collectors.joining(", ")) : "";
-
-                            String requests = container.getResources() != null && container.getResources().getRequests() != null ?
-                                    container.getResources().getRequests().entrySet().stream()
-                                            .map(e -> e.getKey() + ": " + e.getValue())
-                                            .collect(Collectors.joining(", ")) : "";
-
-                            String limits = container.getResources() != null && container.getResources().getLimits() != null ?
-                                    container.getResources().getLimits().entrySet().stream()
-                                            .map(e -> e.getKey() + ": " + e.getValue())
-                                            .collect(Collectors.joining(", ")) : "";
-
-                            return "    - " + container.getName() + ":\n" +
-                                    "      Image: " + container.getImage() + "\n" +
-                                    "      Ports: " + ports + "\n" +
-                                    "      Resources:\n" +
-                                    "        Requests: " + requests + "\n" +
-                                    "        Limits: " + limits;
-                        })
-                        .collect(Collectors.joining("\n")));
+            for (V1Deployment deployment : deployments) {
+                V1LabelSelector selector = deployment.getSpec() != null ? deployment.getSpec().getSelector() : null;
+                List<V1Pod> pods = fromCache ?
+                        podCache.listPodsMatching(ns, selector, true) :
+                        matchingPods(namespacePods, selector);
+                if (sb.length() > 0) {
+                    sb.append("\n\n");
+                }
+                sb.append(renderDeploymentDescription(deployment, pods));
             }
+            if (byName) {
+                Set<String> found = deployments.stream().map(d -> d.getMetadata().getName()).collect(Collectors.toSet());
+                List<String> missing = deploymentNames.stream().filter(name -> !found.contains(name)).distinct().toList();
+                if (!missing.isEmpty()) {
+                    sb.append("\n\nNot found: ").append(String.join(", ", missing));
+                }
+            }
+            return sb.append("\n\n").append(readConsistency.describe("describe_deployments", podCache, "deployments"))
+                    .toString();
+        } catch (Exception e) {
+            return "Error describing deployments in namespace '" + ns + "': " + e.getMessage();
+        }
+    }
 
-            sb.append("\n\nStatus:\n");
-            sb.append("  Available Replicas: ").append(deployment.getStatus() != null ? deployment.getStatus().getAvailableReplicas() : null).append("\n");
-            sb.append("  Ready Replicas: ").append(deployment.getStatus() != null ? deployment.getStatus().getReadyReplicas() : null).append("\n");
-            sb.append("  Updated Replicas: ").append(deployment.getStatus() != null ? deployment.getStatus().getUpdatedReplicas() : null).append("\n");
-            sb.append("  Conditions:\n");
-
-            if (deployment.getStatus() != null && deployment.getStatus().getConditions() != null) {
-                sb.append(deployment.getStatus().getConditions().stream()
-                        .map(condition -> "    - " + condition.getType() + ": " + condition.getStatus() +
-                                " (" + condition.getMessage() + ")")
-                        .collect(Collectors.joining("\n")));
+    private static List<V1Pod> matchingPods(List<V1Pod> pods, V1LabelSelector selector) {
+        LabelSelectorMatcher matcher = LabelSelectorMatcher.compile(selector);
+        List<V1Pod> matching = new ArrayList<>();
+        for (V1Pod pod : pods) {
+            if (matcher.matches(pod.getMetadata() != null ? pod.getMetadata().getLabels() : null)) {
+                matching.add(pod);
             }
+        }
+        return matching;
+    }
 
-            sb.append("\n\nPods:\n");
-            sb.append(pods.stream()
-                    .map(pod -> {
-                        boolean ready = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null ?
-                                pod.getStatus().getContainerStatuses().stream().allMatch(V1ContainerStatus::getReady) : false;
-                        int restarts = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null ?
-                                pod.getStatus().getContainerStatuses().stream()
-                                        .mapToInt(status -> status.getRestartCount() != null ? status.getRestartCount() : 0)
-                                        .sum() : 0;
-
-                        return "    - " + pod.getMetadata().getName() + ":\n" +
-                                "      Status: " + pod.getStatus().getPhase() + "\n" +
-                                "      Ready: " + ready + "\n" +
-                                "      Restarts: " + restarts;
+    private String renderDeploymentDescription(V1Deployment deployment, List<V1Pod> pods) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Deployment: ").append(deployment.getMetadata() != null ? deployment.getMetadata().getName() : "").append("\n");
+        sb.append("Namespace: ").append(deployment.getMetadata() != null ? deployment.getMetadata().getNamespace() : "").append("\n\n");
+
+        sb.append("Spec:\n");
+        sb.append("  Replicas: ").append(deployment.getSpec() != null ? deployment.getSpec().getReplicas() : null).append("\n");
+        sb.append("  Strategy: ").append(deployment.getSpec() != null && deployment.getSpec().getStrategy() != null ?
+                deployment.getSpec().getStrategy().getType() : null).append("\n");
+        sb.append("  Selector: ").append(deployment.getSpec() != null && deployment.getSpec().getSelector() != null &&
+                deployment.getSpec().getSelector().getMatchLabels() != null ?
+                deployment.getSpec().getSelector().getMatchLabels().entrySet().stream()
+                        .map(e -> e.getKey() + "=" + e.getValue())
+                        .collect(Collectors.joining(", ")) : "").append("\n\n");
+
+        sb.append("Template:\n");
+        sb.append("  Labels: ").append(deployment.getSpec() != null && deployment.getSpec().getTemplate() != null &&
+                deployment.getSpec().getTemplate().getMetadata() != null &&
+                deployment.getSpec().getTemplate().getMetadata().getLabels() != null ?
+                deployment.getSpec().getTemplate().getMetadata().getLabels().entrySet().stream()
+                        .map(e -> e.getKey() + "=" + e.getValue())
+                        .collect(Collectors.joining(", ")) : "").append("\n");
+        sb.append("  Containers:\n");
+
+        if (deployment.getSpec() != null && deployment.getSpec().getTemplate() != null &&
+                deployment.getSpec().getTemplate().getSpec() != null &&
+                deployment.getSpec().getTemplate().getSpec().getContainers() != null) {
+
+            sb.append(deployment.getSpec().getTemplate().getSpec().getContainers().stream()
+                    .map(container -> {
+                        String ports = container.getPorts() != null ?
+                                container.getPorts().stream()
+                                        .map(p -> p.getContainerPort() + "/" + p.getProtocol())
+                                        .collect(Collectors.joining(", ")) : "";
+
+                        String requests = container.getResources() != null && container.getResources().getRequests() != null ?
+                                container.getResources().getRequests().entrySet().stream()
+                                        .map(e -> e.getKey() + ": " + e.getValue())
+                                        .collect(Collectors.joining(", ")) : "";
+
+                        String limits = container.getResources() != null && container.getResources().getLimits() != null ?
+                                container.getResources().getLimits().entrySet().stream()
+                                        .map(e -> e.getKey() + ": " + e.getValue())
+                                        .collect(Collectors.joining(", ")) : "";
+
+                        return "    - " + container.getName() + ":\n" +
+                                "      Image: " + container.getImage() + "\n" +
+                                "      Ports: " + ports + "\n" +
+                                "      Resources:\n" +
+                                "        Requests: " + requests + "\n" +
+                                "        Limits: " + limits;
                     })
                     .collect(Collectors.joining("\n")));
+        }
 
-            return sb.toString();
-        } catch (Exception e) {
-            return "Error describing deployment '" + deploymentName + "' in namespace '" +
-                    (namespace != null ? namespace : defaultNamespace) + "': " + e.getMessage() + "\n" +
-                    "Please ensure:\n" +
-                    "1. You have a valid kubeconfig file\n" +
-                    "2. The cluster is accessible\n" +
-                    "3. The deployment '" + deploymentName + "' exists in namespace '" +
-                    (namespace != null ? namespace : defaultNamespace) + "'\n" +
-                    "4. You have permissions to view deployments in this namespace";
+        sb.append("\n\nStatus:\n");
+        sb.append("  Available Replicas: ").append(deployment.getStatus() != null ? deployment.getStatus().getAvailableReplicas() : null).append("\n");
+        sb.append("  Ready Replicas: ").append(deployment.getStatus() != null ? deployment.getStatus().getReadyReplicas() : null).append("\n");
+        sb.append("  Updated Replicas: ").append(deployment.getStatus() != null ? deployment.getStatus().getUpdatedReplicas() : null).append("\n");
+        sb.append("  Conditions:\n");
+
+        if (deployment.getStatus() != null && deployment.getStatus().getConditions() != null) {
+            sb.append(deployment.getStatus().getConditions().stream()
+                    .map(condition -> "    - " + condition.getType() + ": " + condition.getStatus() +
+                            " (" + condition.getMessage() + ")")
+                    .collect(Collectors.joining("\n")));
         }
+
+        sb.append("\n\nPods:\n");
+        sb.append(pods.stream()
+                .map(pod -> {
+                    boolean ready = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null ?
+                            pod.getStatus().getContainerStatuses().stream().allMatch(V1ContainerStatus::getReady) : false;
+                    int restarts = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null ?
+                            pod.getStatus().getContainerStatuses().stream()
+                                    .mapToInt(status -> status.getRestartCount() != null ? status.getRestartCount() : 0)
+                                    .sum() : 0;
+
+                    return "    - " + pod.getMetadata().getName() + ":\n" +
+                            "      Status: " + pod.getStatus().getPhase() + "\n" +
+                            "      Ready: " + ready + "\n" +
+                            "      Restarts: " + restarts;
+                })
+                .collect(Collectors.joining("\n")));
+
+        return sb.toString();
     }
 
 //    @Tool(name = "analyze_deployment", description = "Analyzes the health and status of a deployment")
@@ -237,14 +330,9 @@ public class DeploymentTools {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
             V1Deployment deployment = appsV1Api.readNamespacedDeployment(deploymentName, ns, null);
-            String selector = deployment.getSpec() != null && deployment.getSpec().getSelector() != null &&
-                    deployment.getSpec().getSelector().getMatchLabels() != null ?
-                    deployment.getSpec().getSelector().getMatchLabels().entrySet().stream()
-                            .map(e -> e.getKey() + "=" + e.getValue())
-                            .collect(Collectors.joining(",")) : null;
-
-            List<V1Pod> pods = coreV1Api.listNamespacedPod(ns, null, null, null, null, selector, null, null, null, null, null)
-                    .getItems();
+            List<V1Pod> pods = podCache.listPodsMatching(ns,
+                    deployment.getSpec() != null ? deployment.getSpec().getSelector() : null,
+                    readConsistency.allowsStale("analyze_deployment"));
 
             StringBuilder analysis = new StringBuilder();
             analysis.append("=== Deployment Health Analysis: ").append(deployment.getMetadata() != null ?
@@ -333,7 +421,7 @@ public class DeploymentTools {
                 analysis.append("6. Check for configuration or dependency issues\n");
             }
 
-            return analysis.toString();
+            return analysis.append("\n").append(readConsistency.describe("analyze_deployment", podCache)).toString();
         } catch (Exception e) {
             return "Error analyzing deployment health: " + e.getMessage();
         }
@@ -0,0 +1,167 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watch-fed store of events held in time-ordered, bounded buffers per namespace. Events are kept
+ * for the configured retention even after the API server has garbage-collected them, so recent
+ * history can be read as a range scan without any API call.
+ */
+@Service
+public class EventStore {
+
+    private final SharedIndexInformer<CoreV1Event> eventInformer;
+    private final Duration retention;
+    private final int maxEventsPerNamespace;
+    private final Map<String, NamespaceEvents> namespaces = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public EventStore(SharedIndexInformer<CoreV1Event> eventInformer,
+                      @Value("${k8s.tools.events.retention-minutes:360}") long retentionMinutes,
+                      @Value("${k8s.tools.events.max-per-namespace:1000}") int maxEventsPerNamespace) {
+        this.eventInformer = eventInformer;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.maxEventsPerNamespace = maxEventsPerNamespace;
+
+        eventInformer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(CoreV1Event event) {
+                record(event);
+            }
+
+            @Override
+            public void onUpdate(CoreV1Event oldEvent, CoreV1Event newEvent) {
+                record(newEvent);
+            }
+
+            @Override
+            public void onDelete(CoreV1Event event, boolean deletedFinalStateUnknown) {
+                // Deleted events stay queryable until they fall out of the retention window
+            }
+        });
+    }
+
+    public boolean hasSynced() {
+        return eventInformer.hasSynced();
+    }
+
+    /**
+     * Events in the namespace whose latest occurrence is within the window, newest first.
+     */
+    public List<CoreV1Event> recentEvents(String namespace, Duration window) {
+        Instant now = Instant.now();
+        List<CoreV1Event> recent = new ArrayList<>();
+        // Under the map's per-key lock, so a namespace emptied by expiry can be dropped without racing record()
+        namespaces.computeIfPresent(namespace, (ns, events) -> {
+            recent.addAll(events.since(now.minus(window), now.minus(retention)));
+            return events.isEmpty() ? null : events;
+        });
+        return recent;
+    }
+
+    void record(CoreV1Event event) {
+        if (event.getMetadata() == null || event.getMetadata().getNamespace() == null) {
+            return;
+        }
+        Instant expireBefore = Instant.now().minus(retention);
+        namespaces.compute(event.getMetadata().getNamespace(), (ns, events) -> {
+            NamespaceEvents target = events != null ? events : new NamespaceEvents();
+            target.put(event, maxEventsPerNamespace, expireBefore);
+            return target.isEmpty() ? null : target;
+        });
+        sweepIfDue(expireBefore);
+    }
+
+    // Namespaces that stop receiving events (e.g. deleted ones) are only expired by this sweep
+    private void sweepIfDue(Instant expireBefore) {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last < TimeUnit.MINUTES.toNanos(1) || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        for (String namespace : namespaces.keySet()) {
+            namespaces.computeIfPresent(namespace, (ns, events) -> {
+                events.expireBefore(expireBefore);
+                return events.isEmpty() ? null : events;
+            });
+        }
+    }
+
+    static Instant timestampOf(CoreV1Event event) {
+        if (event.getLastTimestamp() != null) {
+            return event.getLastTimestamp().toInstant();
+        }
+        if (event.getEventTime() != null) {
+            return event.getEventTime().toInstant();
+        }
+        if (event.getMetadata() != null && event.getMetadata().getCreationTimestamp() != null) {
+            return event.getMetadata().getCreationTimestamp().toInstant();
+        }
+        return Instant.now();
+    }
+
+    private record EventKey(Instant time, String uid) implements Comparable<EventKey> {
+        @Override
+        public int compareTo(EventKey other) {
+            int byTime = time.compareTo(other.time);
+            return byTime != 0 ? byTime : uid.compareTo(other.uid);
+        }
+    }
+
+    private static final class NamespaceEvents {
+        private final TreeMap<EventKey, CoreV1Event> byTime = new TreeMap<>();
+        private final Map<String, EventKey> keysByUid = new HashMap<>();
+
+        synchronized void put(CoreV1Event event, int capacity, Instant expireBefore) {
+            String uid = event.getMetadata().getUid() != null ?
+                    event.getMetadata().getUid() : event.getMetadata().getName();
+            EventKey previous = keysByUid.remove(uid);
+            if (previous != null) {
+                byTime.remove(previous);
+            }
+            EventKey key = new EventKey(timestampOf(event), uid);
+            byTime.put(key, event);
+            keysByUid.put(uid, key);
+
+            expire(expireBefore);
+            while (byTime.size() > capacity) {
+                evict(byTime.firstKey());
+            }
+        }
+
+        synchronized List<CoreV1Event> since(Instant from, Instant expireBefore) {
+            expire(expireBefore);
+            return new ArrayList<>(byTime.tailMap(new EventKey(from, ""), true).descendingMap().values());
+        }
+
+        synchronized void expireBefore(Instant expireBefore) {
+            expire(expireBefore);
+        }
+
+        synchronized boolean isEmpty() {
+            return byTime.isEmpty();
+        }
+
+        private void expire(Instant expireBefore) {
+            while (!byTime.isEmpty() && byTime.firstKey().time().isBefore(expireBefore)) {
+                evict(byTime.firstKey());
+            }
+        }
+
+        private void evict(EventKey key) {
+            byTime.remove(key);
+            keysByUid.remove(key.uid());
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.xiaoxj.tools;
 
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.CoreV1Event;
 import io.kubernetes.client.openapi.models.CoreV1EventList;
 import io.kubernetes.client.openapi.models.V1ObjectReference;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.OffsetDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -18,46 +21,42 @@ import java.util.stream.Collectors;
 @Service
 public class EventTools {
 
+    private static final int DEFAULT_WINDOW_MINUTES = 60;
+
     private final CoreV1Api coreV1Api;
+    private final EventStore eventStore;
+    private final ProtobufLists protobufLists;
+    private final int pageSize;
 
-    public EventTools(CoreV1Api coreV1Api) {
+    public EventTools(CoreV1Api coreV1Api, EventStore eventStore, ProtobufLists protobufLists,
+                      @Value("${k8s.tools.list.page-size:500}") int pageSize) {
         this.coreV1Api = coreV1Api;
+        this.eventStore = eventStore;
+        this.protobufLists = protobufLists;
+        this.pageSize = pageSize;
     }
 
     @Tool(name = "get_recent_events", description = "Get recent events from a namespace for troubleshooting with severity analysis")
     public String getRecentEvents(
-            @ToolParam(description = "The Kubernetes namespace to get events from") String namespace) {
+            @ToolParam(description = "The Kubernetes namespace to get events from") String namespace,
+            @ToolParam(description = "How many minutes back to look, defaults to 60", required = false) Integer minutes,
+            @ToolParam(description = "Only include events of this type (Normal or Warning), defaults to all", required = false) String type) {
         if (namespace == null) {
             namespace = "default";
         }
+        Duration window = Duration.ofMinutes(minutes != null && minutes > 0 ? minutes : DEFAULT_WINDOW_MINUTES);
 
         try {
-            CoreV1EventList  events = coreV1Api.listNamespacedEvent(namespace, null, null, null, null, null, null, null, null, null, null);
-            OffsetDateTime now = OffsetDateTime.now();
-
-            List<CoreV1Event> recentEvents = events.getItems().stream()
-                    .filter(event -> {
-                        if (event.getLastTimestamp() != null) {
-                            return ChronoUnit.HOURS.between(event.getLastTimestamp(), now) <= 1;
-                        }
-                        return true;
-                    })
-                    .sorted((e1, e2) -> {
-                        if (e1.getLastTimestamp() == null && e2.getLastTimestamp() == null) {
-                            return 0;
-                        }
-                        if (e1.getLastTimestamp() == null) {
-                            return 1;
-                        }
-                        if (e2.getLastTimestamp() == null) {
-                            return -1;
-                        }
-                        return e2.getLastTimestamp().compareTo(e1.getLastTimestamp());
-                    })
-                    .collect(Collectors.toList());
+            List<CoreV1Event> recentEvents = eventStore.hasSynced() ?
+                    eventStore.recentEvents(namespace, window) : listRecentEvents(namespace, window);
+            if (type != null && !type.isBlank()) {
+                recentEvents = recentEvents.stream()
+                        .filter(event -> type.equalsIgnoreCase(event.getType()))
+                        .collect(Collectors.toList());
+            }
 
             if (recentEvents.isEmpty()) {
-                return "No events found in namespace " + namespace + " in the last hour";
+                return "No events found in namespace " + namespace + " in the last " + window.toMinutes() + " minutes";
             }
 
             List<String> criticalEvents = new ArrayList<>();
@@ -116,6 +115,18 @@ public class EventTools {
         }
     }
 
+    private List<CoreV1Event> listRecentEvents(String namespace, Duration window) throws ApiException {
+        List<CoreV1Event> events = protobufLists.isEnabled(ProtobufLists.EVENTS) ?
+                protobufLists.listNamespacedEvents(namespace, pageSize) :
+                coreV1Api.listNamespacedEvent(namespace, null, null, null, null, null, null, null, null, null, null).getItems();
+        Instant from = Instant.now().minus(window);
+
+        return events.stream()
+                .filter(event -> !EventStore.timestampOf(event).isBefore(from))
+                .sorted(Comparator.comparing(EventStore::timestampOf).reversed())
+                .collect(Collectors.toList());
+    }
+
     private boolean isCriticalReason(String reason) {
         if (reason == null) {
             return false;
@@ -175,13 +186,16 @@ public class EventTools {
         }
 
         try {
-            CoreV1EventList events = coreV1Api.listNamespacedEvent(namespace, null, null, null, null, null, null, null, null, null, null);
+            // Name and namespace are matched by the API server; kind stays a local, case-insensitive
+            // match because callers pass "pod" or "deployment" and field selectors are exact.
+            String fieldSelector = "involvedObject.name=" + resourceName + ",involvedObject.namespace=" + namespace;
+            CoreV1EventList events = coreV1Api.listNamespacedEvent(namespace, null, null, null, fieldSelector, null, null, null, null, null, null);
 
             List<CoreV1Event> resourceEvents = events.getItems().stream()
                     .filter(event -> {
                         V1ObjectReference involvedObject = event.getInvolvedObject();
-                        return involvedObject.getKind().equalsIgnoreCase(resourceType) &&
-                                resourceName.equals(involvedObject.getName());
+                        return involvedObject != null && resourceType != null &&
+                                resourceType.equalsIgnoreCase(involvedObject.getKind());
                     })
                     .sorted((e1, e2) -> {
                         if (e1.getLastTimestamp() == null && e2.getLastTimestamp() == null) {
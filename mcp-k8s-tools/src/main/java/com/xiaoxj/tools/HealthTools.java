@@ -1,136 +1,275 @@
 package com.xiaoxj.tools;
 
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.*;
+import io.kubernetes.client.proto.V1;
+import io.kubernetes.client.proto.V1Apps;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 @Service
 public class HealthTools {
 
+    private static final int MAX_LISTED_ENTRIES = 50;
+
     private final CoreV1Api coreV1Api;
     private final AppsV1Api appsV1Api;
-
-    public HealthTools(CoreV1Api coreV1Api, AppsV1Api appsV1Api) {
+    private final PodCache podCache;
+    private final ReadConsistency readConsistency;
+    private final ProtobufLists protobufLists;
+    private final ExecutorService fanOutExecutor;
+    private final int pageSize;
+
+    public HealthTools(CoreV1Api coreV1Api, AppsV1Api appsV1Api, PodCache podCache, ReadConsistency readConsistency,
+                       ProtobufLists protobufLists,
+                       @Qualifier("toolsFanOutExecutor") ExecutorService fanOutExecutor,
+                       @Value("${k8s.tools.list.page-size:500}") int pageSize) {
         this.coreV1Api = coreV1Api;
         this.appsV1Api = appsV1Api;
+        this.podCache = podCache;
+        this.readConsistency = readConsistency;
+        this.protobufLists = protobufLists;
+        this.fanOutExecutor = fanOutExecutor;
+        this.pageSize = pageSize;
     }
 
     @Tool(name = "check_cluster_health", description = "Check overall cluster health")
     public String checkClusterHealth() {
         try {
-            V1NodeList nodes = coreV1Api.listNode(null, null, null, null, null, null, null, null, null, null);
-            V1PodList pods = coreV1Api.listPodForAllNamespaces(null, null, null, null, null, null, null, null, null, null);
-            V1DeploymentList deployments = appsV1Api.listDeploymentForAllNamespaces(null, null, null, null, null, null, null, null, null, null);
-
-            // Node health analysis
-            List<String> nodeHealth = nodes.getItems().stream()
-                    .map(node -> {
-                        List<V1NodeCondition> conditions = node.getStatus() != null ? node.getStatus().getConditions() : null;
-                        boolean ready = conditions != null && conditions.stream()
-                                .anyMatch(c -> "Ready".equals(c.getType()) && "True".equals(c.getStatus()));
-
-                        List<String> problems = conditions != null ? conditions.stream()
-                                .filter(c -> !"Ready".equals(c.getType()) && "True".equals(c.getStatus()))
-                                .map(V1NodeCondition::getType)
-                                .collect(Collectors.toList()) : new ArrayList<>();
-
-                        String nodeName = node.getMetadata() != null ? node.getMetadata().getName() : "unknown";
-                        return nodeName + ": " + (ready ? "Ready" : "Not Ready") +
-                                (!problems.isEmpty() ? " (Issues: " + String.join(", ", problems) + ")" : "");
-                    })
-                    .collect(Collectors.toList());
+            CompletableFuture<Tally> nodes = supplyAsync(this::collectNodes);
+            CompletableFuture<Tally> pods = supplyAsync(this::collectPods);
+            CompletableFuture<Tally> deployments = supplyAsync(this::collectDeployments);
+
+            return new ClusterHealthSummary(nodes.join(), pods.join(), deployments.join()).render() + "\n\n" +
+                    readConsistency.describe("check_cluster_health", podCache, "nodes", "deployments");
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return "Error checking cluster health: " + cause.getMessage();
+        } catch (Exception e) {
+            return "Error checking cluster health: " + e.getMessage();
+        }
+    }
 
-            // Pod issues analysis
-            List<String> podIssues = pods.getItems().stream()
-                    .filter(pod -> pod.getStatus() != null &&
-                            !"Running".equals(pod.getStatus().getPhase()) &&
-                            !"Succeeded".equals(pod.getStatus().getPhase()))
-                    .map(pod -> {
-                        String namespace = pod.getMetadata() != null ? pod.getMetadata().getNamespace() : "unknown";
-                        String name = pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown";
-                        String phase = pod.getStatus() != null ? pod.getStatus().getPhase() : "unknown";
-                        String reason = pod.getStatus() != null ? pod.getStatus().getReason() : null;
-                        return namespace + "/" + name + ": " + phase + (reason != null ? " (" + reason + ")" : "");
-                    })
-                    .collect(Collectors.toList());
+    private Tally collectNodes() throws ApiException {
+        Tally nodes = new Tally();
+        String resourceVersion = readConsistency.resourceVersion("check_cluster_health");
+        if (protobufLists.isEnabled(ProtobufLists.NODES)) {
+            protobufLists.forEachNode(resourceVersion, pageSize, node -> foldNode(node, nodes));
+        } else {
+            ListPager.forEachItem(
+                    (continueToken, limit) -> coreV1Api.listNode(null, null, continueToken, null, null, limit,
+                            continueToken == null ? resourceVersion : null, null, null, null),
+                    V1NodeList::getItems, pageSize, node -> foldNode(node, nodes));
+        }
+        return nodes;
+    }
 
-            // Deployment issues analysis
-            List<String> deploymentIssues = deployments.getItems().stream()
-                    .filter(deployment ->
-                            (deployment.getStatus() != null && deployment.getStatus().getReadyReplicas() != null ?
-                                    deployment.getStatus().getReadyReplicas() : 0) <
-                                    (deployment.getStatus() != null && deployment.getStatus().getReplicas() != null ?
-                                            deployment.getStatus().getReplicas() : 0))
-                    .map(deployment -> {
-                        String namespace = deployment.getMetadata() != null ? deployment.getMetadata().getNamespace() : "unknown";
-                        String name = deployment.getMetadata() != null ? deployment.getMetadata().getName() : "unknown";
-                        int readyReplicas = deployment.getStatus() != null && deployment.getStatus().getReadyReplicas() != null ?
-                                deployment.getStatus().getReadyReplicas() : 0;
-                        int replicas = deployment.getStatus() != null && deployment.getStatus().getReplicas() != null ?
-                                deployment.getStatus().getReplicas() : 0;
-                        return namespace + "/" + name + ": Ready: " + readyReplicas + "/" + replicas;
-                    })
-                    .collect(Collectors.toList());
+    private Tally collectPods() throws ApiException {
+        Tally pods = new Tally();
+        String resourceVersion = readConsistency.resourceVersion("check_cluster_health");
+        if (readConsistency.allowsStale("check_cluster_health") && podCache.hasSynced()) {
+            podCache.listAllPods(true).forEach(pod -> foldPod(pod, pods));
+        } else if (protobufLists.isEnabled(ProtobufLists.PODS)) {
+            protobufLists.forEachPod(resourceVersion, pageSize, pod -> foldPod(pod, pods));
+        } else {
+            ListPager.forEachItem(
+                    (continueToken, limit) -> coreV1Api.listPodForAllNamespaces(null, continueToken, null, null, limit, null,
+                            continueToken == null ? resourceVersion : null, null, null, null),
+                    V1PodList::getItems, pageSize, pod -> foldPod(pod, pods));
+        }
+        return pods;
+    }
 
-            // Calculate summary metrics
-            long readyNodes = nodes.getItems().stream()
-                    .filter(node -> node.getStatus() != null &&
-                            node.getStatus().getConditions() != null &&
-                            node.getStatus().getConditions().stream()
-                                    .anyMatch(c -> "Ready".equals(c.getType()) && "True".equals(c.getStatus())))
-                    .count();
-
-            long healthyPods = pods.getItems().stream()
-                    .filter(pod -> pod.getStatus() != null &&
-                            ("Running".equals(pod.getStatus().getPhase()) ||
-                                    "Succeeded".equals(pod.getStatus().getPhase())))
-                    .count();
-
-            long healthyDeployments = deployments.getItems().stream()
-                    .filter(deployment ->
-                            (deployment.getStatus() != null && deployment.getStatus().getReadyReplicas() != null ?
-                                    deployment.getStatus().getReadyReplicas() : 0) >=
-                                    (deployment.getStatus() != null && deployment.getStatus().getReplicas() != null ?
-                                            deployment.getStatus().getReplicas() : 0))
-                    .count();
+    private Tally collectDeployments() throws ApiException {
+        Tally deployments = new Tally();
+        String resourceVersion = readConsistency.resourceVersion("check_cluster_health");
+        if (protobufLists.isEnabled(ProtobufLists.DEPLOYMENTS)) {
+            protobufLists.forEachDeployment(resourceVersion, pageSize, deployment -> foldDeployment(deployment, deployments));
+        } else {
+            ListPager.forEachItem(
+                    (continueToken, limit) -> appsV1Api.listDeploymentForAllNamespaces(null, continueToken, null, null, limit, null,
+                            continueToken == null ? resourceVersion : null, null, null, null),
+                    V1DeploymentList::getItems, pageSize, deployment -> foldDeployment(deployment, deployments));
+        }
+        return deployments;
+    }
 
-            // Build result string
+    private <T> CompletableFuture<T> supplyAsync(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, fanOutExecutor);
+    }
+
+    private void foldNode(V1Node node, Tally nodes) {
+        boolean ready = false;
+        List<String> problems = new ArrayList<>();
+        if (node.getStatus() != null && node.getStatus().getConditions() != null) {
+            for (V1NodeCondition c : node.getStatus().getConditions()) {
+                if ("Ready".equals(c.getType())) {
+                    ready = ready || "True".equals(c.getStatus());
+                } else if ("True".equals(c.getStatus())) {
+                    problems.add(c.getType());
+                }
+            }
+        }
+        foldNode(node.getMetadata() != null ? node.getMetadata().getName() : "unknown", ready, problems, nodes);
+    }
+
+    private void foldNode(V1.Node node, Tally nodes) {
+        boolean ready = false;
+        List<String> problems = new ArrayList<>();
+        for (V1.NodeCondition c : node.getStatus().getConditionsList()) {
+            if ("Ready".equals(c.getType())) {
+                ready = ready || "True".equals(c.getStatus());
+            } else if ("True".equals(c.getStatus())) {
+                problems.add(c.getType());
+            }
+        }
+        foldNode(node.getMetadata().hasName() ? node.getMetadata().getName() : "unknown", ready, problems, nodes);
+    }
+
+    private void foldNode(String nodeName, boolean ready, List<String> problems, Tally nodes) {
+        nodes.count(ready);
+        nodes.add(nodeName + ": " + (ready ? "Ready" : "Not Ready") +
+                (!problems.isEmpty() ? " (Issues: " + String.join(", ", problems) + ")" : ""));
+    }
+
+    private void foldPod(V1Pod pod, Tally pods) {
+        foldPod(pod.getMetadata() != null ? pod.getMetadata().getNamespace() : "unknown",
+                pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown",
+                pod.getStatus() != null,
+                pod.getStatus() != null ? pod.getStatus().getPhase() : null,
+                pod.getStatus() != null ? pod.getStatus().getReason() : null,
+                pods);
+    }
+
+    private void foldPod(V1.Pod pod, Tally pods) {
+        V1.PodStatus status = pod.getStatus();
+        foldPod(pod.getMetadata().hasNamespace() ? pod.getMetadata().getNamespace() : "unknown",
+                pod.getMetadata().hasName() ? pod.getMetadata().getName() : "unknown",
+                pod.hasStatus(),
+                status.hasPhase() ? status.getPhase() : null,
+                status.hasReason() ? status.getReason() : null,
+                pods);
+    }
+
+    private void foldPod(String namespace, String name, boolean hasStatus, String phase, String reason, Tally pods) {
+        boolean healthy = "Running".equals(phase) || "Succeeded".equals(phase);
+        pods.count(healthy);
+        if (!healthy && hasStatus) {
+            pods.add(namespace + "/" + name + ": " + phase + (reason != null ? " (" + reason + ")" : ""));
+        }
+    }
+
+    private void foldDeployment(V1Deployment deployment, Tally deployments) {
+        foldDeployment(deployment.getMetadata() != null ? deployment.getMetadata().getNamespace() : "unknown",
+                deployment.getMetadata() != null ? deployment.getMetadata().getName() : "unknown",
+                deployment.getStatus() != null && deployment.getStatus().getReadyReplicas() != null ?
+                        deployment.getStatus().getReadyReplicas() : 0,
+                deployment.getStatus() != null && deployment.getStatus().getReplicas() != null ?
+                        deployment.getStatus().getReplicas() : 0,
+                deployments);
+    }
+
+    private void foldDeployment(V1Apps.Deployment deployment, Tally deployments) {
+        foldDeployment(deployment.getMetadata().hasNamespace() ? deployment.getMetadata().getNamespace() : "unknown",
+                deployment.getMetadata().hasName() ? deployment.getMetadata().getName() : "unknown",
+                deployment.getStatus().getReadyReplicas(),
+                deployment.getStatus().getReplicas(),
+                deployments);
+    }
+
+    private void foldDeployment(String namespace, String name, int readyReplicas, int replicas, Tally deployments) {
+        boolean healthy = readyReplicas >= replicas;
+        deployments.count(healthy);
+        if (!healthy) {
+            deployments.add(namespace + "/" + name + ": Ready: " + readyReplicas + "/" + replicas);
+        }
+    }
+
+    private record ClusterHealthSummary(Tally nodes, Tally pods, Tally deployments) {
+
+        String render() {
             StringBuilder result = new StringBuilder();
             result.append("Cluster Health Check:\n\n");
 
-            result.append("Nodes (").append(nodes.getItems().size()).append("):\n");
-            nodeHealth.forEach(item -> result.append("  - ").append(item).append("\n"));
+            result.append("Nodes (").append(nodes.total).append("):\n");
+            nodes.appendEntries(result);
 
-            result.append("\nPod Issues (").append(podIssues.size()).append("):\n");
-            if (podIssues.isEmpty()) {
+            result.append("\nPod Issues (").append(pods.entryCount()).append("):\n");
+            if (pods.entryCount() == 0) {
                 result.append("  None\n");
             } else {
-                podIssues.forEach(item -> result.append("  - ").append(item).append("\n"));
+                pods.appendEntries(result);
             }
 
-            result.append("\nDeployment Issues (").append(deploymentIssues.size()).append("):\n");
-            if (deploymentIssues.isEmpty()) {
+            result.append("\nDeployment Issues (").append(deployments.entryCount()).append("):\n");
+            if (deployments.entryCount() == 0) {
                 result.append("  None\n");
             } else {
-                deploymentIssues.forEach(item -> result.append("  - ").append(item).append("\n"));
+                deployments.appendEntries(result);
             }
 
             result.append("\nSummary:\n");
-            result.append("  - Nodes: ").append(readyNodes).append("/").append(nodes.getItems().size()).append(" ready\n");
-            result.append("  - Pods: ").append(healthyPods).append("/").append(pods.getItems().size()).append(" healthy\n");
-            result.append("  - Deployments: ").append(healthyDeployments).append("/").append(deployments.getItems().size()).append(" healthy");
-
+            result.append("  - Nodes: ").append(nodes.healthy).append("/").append(nodes.total).append(" ready\n");
+            result.append("  - Pods: ").append(pods.healthy).append("/").append(pods.total).append(" healthy\n");
+            result.append("  - Deployments: ").append(deployments.healthy).append("/").append(deployments.total).append(" healthy");
             return result.toString();
-        } catch (Exception e) {
-            return "Error checking cluster health: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Running counters plus a bounded list of report lines, so the report size stays flat no
+     * matter how many objects are folded in.
+     */
+    private static final class Tally {
+        private final List<String> entries = new ArrayList<>();
+        private long total;
+        private long healthy;
+        private long omitted;
+
+        void count(boolean isHealthy) {
+            total++;
+            if (isHealthy) {
+                healthy++;
+            }
+        }
+
+        void add(String entry) {
+            if (entries.size() < MAX_LISTED_ENTRIES) {
+                entries.add(entry);
+            } else {
+                omitted++;
+            }
+        }
+
+        long entryCount() {
+            return entries.size() + omitted;
+        }
+
+        void appendEntries(StringBuilder result) {
+            entries.forEach(item -> result.append("  - ").append(item).append("\n"));
+            if (omitted > 0) {
+                result.append("  - ... and ").append(omitted).append(" more\n");
+            }
         }
     }
 
@@ -146,9 +285,9 @@ public class HealthTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1PodList pods = coreV1Api.listNamespacedPod(ns, null, null, null, null, null, null, null, null, null, null);
+            List<V1Pod> pods = podCache.listNamespacedPods(ns, readConsistency.allowsStale("get_failed_workloads"));
 
-            List<V1Pod> failedPods = pods.getItems().stream()
+            List<V1Pod> failedPods = pods.stream()
                     .filter(pod -> {
                         if (pod.getStatus() == null) return false;
 
@@ -184,7 +323,8 @@ public class HealthTools {
                     .collect(Collectors.toList());
 
             if (failedPods.isEmpty()) {
-                return "No failed workloads found in namespace " + ns;
+                return "No failed workloads found in namespace " + ns + "\n\n" +
+                        readConsistency.describe("get_failed_workloads", podCache);
             }
 
             StringBuilder result = new StringBuilder();
@@ -229,7 +369,7 @@ public class HealthTools {
                 result.append("\n");
             }
 
-            return result.toString();
+            return result.append(readConsistency.describe("get_failed_workloads", podCache)).toString();
         } catch (Exception e) {
             return "Error getting failed workloads: " + e.getMessage();
         }
@@ -247,14 +387,15 @@ public class HealthTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1PodList pods = coreV1Api.listNamespacedPod(ns, null, null, null, null, null, null, null, null, null, null);
-            CoreV1EventList events = coreV1Api.listNamespacedEvent(ns, null, null, null, null, null, null, null, null, null, null);
+            List<V1Pod> pods = podCache.listNamespacedPods(ns, readConsistency.allowsStale("analyze_resource_bottlenecks"));
+            CoreV1EventList events = coreV1Api.listNamespacedEvent(ns, null, null, null, null, null, null,
+                    readConsistency.resourceVersion("analyze_resource_bottlenecks"), null, null, null);
 
             List<String> resourceIssues = new ArrayList<>();
             List<CoreV1Event> resourceEvents = new ArrayList<>();
 
             // Check for resource-related pod issues
-            for (V1Pod pod : pods.getItems()) {
+            for (V1Pod pod : pods) {
                 String podName = pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown";
 
                 // Check container resource usage and limits
@@ -329,7 +470,9 @@ public class HealthTools {
                 result.append("4. Review pod scheduling and node affinity rules");
             }
 
-            return result.toString();
+            return result.append("\n\n")
+                    .append(readConsistency.describe("analyze_resource_bottlenecks", podCache, "events"))
+                    .toString();
         } catch (Exception e) {
             return "Error analyzing resource bottlenecks: " + e.getMessage();
         }
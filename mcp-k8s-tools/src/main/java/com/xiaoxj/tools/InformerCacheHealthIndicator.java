@@ -0,0 +1,32 @@
+package com.xiaoxj.tools;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Health contributor {@code informerCache}: out of service until every informer named in
+ * {@code k8s.tools.cache.resources} has completed its initial LIST, so a readiness group that includes it holds traffic back while tools would
+ * still fall back to live reads. Up when the cache is disabled.
+ */
+@Component
+public class InformerCacheHealthIndicator implements HealthIndicator {
+
+    private final InformerLifecycle informerLifecycle;
+
+    public InformerCacheHealthIndicator(InformerLifecycle informerLifecycle) {
+        this.informerLifecycle = informerLifecycle;
+    }
+
+    @Override
+    public Health health() {
+        if (!informerLifecycle.isCacheEnabled()) {
+            return Health.up().withDetail("cache", "disabled").build();
+        }
+        Map<String, Boolean> synced = informerLifecycle.syncStatus();
+        Health.Builder health = synced.containsValue(false) ? Health.outOfService() : Health.up();
+        return health.withDetail("synced", synced).build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the informers named in {@code k8s.tools.cache.resources} (any of pods, events, nodes,
+ * deployments) and stops them on shutdown. Informers that are not named, or all of them with
+ * {@code k8s.tools.cache.enabled=false}, are never started, so their caches stay unsynced and the
+ * tools read those resources live from the API server.
+ * <p>
+ * The informers start together at startup, so their initial LISTs run in parallel before the
+ * first question arrives. Each informer's time-to-sync is logged and exported as
+ * {@code k8s.tools.cache.sync.time}, and {@code k8s.tools.cache.synced} reports it per resource.
+ * {@link InformerCacheHealthIndicator} reports the same status to the readiness probe.
+ */
+@Component
+public class InformerLifecycle implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InformerLifecycle.class);
+
+    private final boolean cacheEnabled;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SharedIndexInformer<?>> informers = new LinkedHashMap<>();
+    private volatile boolean running;
+    private volatile ExecutorService informerExecutor;
+    private volatile Thread warmupMonitor;
+
+    public InformerLifecycle(SharedIndexInformer<V1Pod> podInformer,
+                             SharedIndexInformer<CoreV1Event> eventInformer,
+                             SharedIndexInformer<V1Node> nodeInformer,
+                             SharedIndexInformer<V1Deployment> deploymentInformer,
+                             MeterRegistry meterRegistry,
+                             @Value("${k8s.tools.cache.enabled:true}") boolean cacheEnabled,
+                             @Value("${k8s.tools.cache.resources:pods,events}") List<String> resources) {
+        this.cacheEnabled = cacheEnabled;
+        this.meterRegistry = meterRegistry;
+        Map<String, SharedIndexInformer<?>> available = new LinkedHashMap<>();
+        available.put(ProtobufLists.PODS, podInformer);
+        available.put(ProtobufLists.EVENTS, eventInformer);
+        available.put(ProtobufLists.NODES, nodeInformer);
+        available.put(ProtobufLists.DEPLOYMENTS, deploymentInformer);
+        for (String resource : resources) {
+            String name = resource.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown resource '" + resource.trim() +
+                        "' in k8s.tools.cache.resources; expected any of " + available.keySet());
+            }
+            informers.put(name, available.get(name));
+        }
+        informers.forEach((resource, informer) ->
+                Gauge.builder("k8s.tools.cache.synced", informer, i -> i.hasSynced() ? 1 : 0)
+                        .tag("resource", resource)
+                        .register(this.meterRegistry));
+    }
+
+    @Override
+    public void start() {
+        if (cacheEnabled && !informers.isEmpty()) {
+            long startedAt = System.nanoTime();
+            // SharedIndexInformer.run() blocks for the informer's lifetime, so each gets its own thread
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("informer-");
+            threadFactory.setDaemon(true);
+            ExecutorService executor = Executors.newFixedThreadPool(informers.size(), threadFactory);
+            informers.values().forEach(informer -> executor.execute(informer::run));
+            informerExecutor = executor;
+            Thread monitor = new Thread(() -> awaitSync(startedAt), "informer-warmup");
+            monitor.setDaemon(true);
+            monitor.start();
+            warmupMonitor = monitor;
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        Thread monitor = warmupMonitor;
+        if (monitor != null) {
+            monitor.interrupt();
+        }
+        ExecutorService executor = informerExecutor;
+        if (executor != null) {
+            informers.values().forEach(SharedIndexInformer::stop);
+            executor.shutdownNow();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * Whether each resource type in {@code k8s.tools.cache.resources} has completed its initial LIST.
+     */
+    public Map<String, Boolean> syncStatus() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        informers.forEach((resource, informer) -> status.put(resource, informer.hasSynced()));
+        return status;
+    }
+
+    private void awaitSync(long startedAt) {
+        Map<String, SharedIndexInformer<?>> pending = new LinkedHashMap<>(informers);
+        try {
+            while (!pending.isEmpty()) {
+                pending.entrySet().removeIf(entry -> {
+                    if (!entry.getValue().hasSynced()) {
+                        return false;
+                    }
+                    Duration timeToSync = Duration.ofNanos(System.nanoTime() - startedAt);
+                    Timer.builder("k8s.tools.cache.sync.time")
+                            .tag("resource", entry.getKey())
+                            .register(meterRegistry)
+                            .record(timeToSync);
+                    log.info("Informer cache for {} synced in {} ms", entry.getKey(), timeToSync.toMillis());
+                    return true;
+                });
+                if (!pending.isEmpty()) {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
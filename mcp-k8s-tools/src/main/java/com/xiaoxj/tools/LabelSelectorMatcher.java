@@ -0,0 +1,170 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.openapi.models.V1LabelSelector;
+import io.kubernetes.client.openapi.models.V1LabelSelectorRequirement;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link V1LabelSelector} compiled once into a predicate over label maps, covering both
+ * {@code matchLabels} and {@code matchExpressions}. A null or empty selector matches everything.
+ */
+final class LabelSelectorMatcher {
+
+    private static final Pattern SET_TERM = Pattern.compile("^(\\S+)\\s+(in|notin)\\s*\\((.*)\\)$");
+
+    private final Map<String, String> matchLabels;
+    private final List<Predicate<Map<String, String>>> requirements;
+    private final String selectorString;
+
+    private LabelSelectorMatcher(Map<String, String> matchLabels,
+                                 List<Predicate<Map<String, String>>> requirements,
+                                 String selectorString) {
+        this.matchLabels = matchLabels;
+        this.requirements = requirements;
+        this.selectorString = selectorString;
+    }
+
+    static LabelSelectorMatcher compile(V1LabelSelector selector) {
+        Map<String, String> matchLabels = selector != null && selector.getMatchLabels() != null ?
+                new TreeMap<>(selector.getMatchLabels()) : Collections.emptyMap();
+        List<V1LabelSelectorRequirement> expressions = selector != null && selector.getMatchExpressions() != null ?
+                selector.getMatchExpressions() : Collections.emptyList();
+
+        List<Predicate<Map<String, String>>> requirements = new ArrayList<>();
+        List<String> terms = new ArrayList<>();
+        matchLabels.forEach((key, value) -> terms.add(key + "=" + value));
+
+        for (V1LabelSelectorRequirement expression : expressions) {
+            String key = expression.getKey();
+            Set<String> values = expression.getValues() != null ?
+                    new HashSet<>(expression.getValues()) : Collections.emptySet();
+            String valueList = expression.getValues() != null ?
+                    String.join(",", expression.getValues()) : "";
+            switch (expression.getOperator()) {
+                case "In":
+                    requirements.add(labels -> labels.containsKey(key) && values.contains(labels.get(key)));
+                    terms.add(key + " in (" + valueList + ")");
+                    break;
+                case "NotIn":
+                    requirements.add(labels -> !labels.containsKey(key) || !values.contains(labels.get(key)));
+                    terms.add(key + " notin (" + valueList + ")");
+                    break;
+                case "Exists":
+                    requirements.add(labels -> labels.containsKey(key));
+                    terms.add(key);
+                    break;
+                case "DoesNotExist":
+                    requirements.add(labels -> !labels.containsKey(key));
+                    terms.add("!" + key);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported label selector operator: " + expression.getOperator());
+            }
+        }
+
+        return new LabelSelectorMatcher(matchLabels, requirements, String.join(",", terms));
+    }
+
+    /**
+     * Parses a selector in API query syntax ({@code app=web,tier!=db,env in (a,b),!canary}).
+     */
+    static V1LabelSelector parse(String selector) {
+        V1LabelSelector labelSelector = new V1LabelSelector();
+        if (selector == null || selector.isBlank()) {
+            return labelSelector;
+        }
+        for (String term : splitTerms(selector)) {
+            Matcher setTerm = SET_TERM.matcher(term);
+            if (setTerm.matches()) {
+                List<String> values = new ArrayList<>();
+                for (String value : setTerm.group(3).split(",")) {
+                    if (!value.isBlank()) {
+                        values.add(value.trim());
+                    }
+                }
+                labelSelector.addMatchExpressionsItem(new V1LabelSelectorRequirement()
+                        .key(setTerm.group(1))
+                        .operator("in".equals(setTerm.group(2)) ? "In" : "NotIn")
+                        .values(values));
+            } else if (term.startsWith("!")) {
+                labelSelector.addMatchExpressionsItem(new V1LabelSelectorRequirement()
+                        .key(term.substring(1).trim())
+                        .operator("DoesNotExist"));
+            } else if (term.contains("!=")) {
+                int split = term.indexOf("!=");
+                labelSelector.addMatchExpressionsItem(new V1LabelSelectorRequirement()
+                        .key(term.substring(0, split).trim())
+                        .operator("NotIn")
+                        .values(List.of(term.substring(split + 2).trim())));
+            } else if (term.contains("=")) {
+                int split = term.indexOf('=');
+                String value = term.substring(split + 1).replaceFirst("^=", "").trim();
+                labelSelector.putMatchLabelsItem(term.substring(0, split).trim(), value);
+            } else {
+                labelSelector.addMatchExpressionsItem(new V1LabelSelectorRequirement()
+                        .key(term)
+                        .operator("Exists"));
+            }
+        }
+        return labelSelector;
+    }
+
+    // Splits on commas outside the value lists of set-based terms
+    private static List<String> splitTerms(String selector) {
+        List<String> terms = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                terms.add(selector.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        terms.add(selector.substring(start).trim());
+        terms.removeIf(String::isEmpty);
+        return terms;
+    }
+
+    boolean matches(Map<String, String> labels) {
+        Map<String, String> actual = labels != null ? labels : Collections.emptyMap();
+        for (Map.Entry<String, String> entry : matchLabels.entrySet()) {
+            if (!entry.getValue().equals(actual.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        for (Predicate<Map<String, String>> requirement : requirements) {
+            if (!requirement.test(actual)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One equality term of the selector, usable to narrow candidates through a label index
+     * before the full match. Null when the selector has no {@code matchLabels}.
+     */
+    Map.Entry<String, String> indexTerm() {
+        return matchLabels.isEmpty() ? null : matchLabels.entrySet().iterator().next();
+    }
+
+    boolean isEmpty() {
+        return matchLabels.isEmpty() && requirements.isEmpty();
+    }
+
+    /**
+     * The selector in API query syntax, for live LIST calls.
+     */
+    String toSelectorString() {
+        return selectorString;
+    }
+}
@@ -0,0 +1,38 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.openapi.ApiException;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Walks a LIST call page by page using {@code limit}/{@code continue}, handing each item to a
+ * consumer so callers can fold results without holding the whole collection in memory.
+ */
+final class ListPager {
+
+    @FunctionalInterface
+    interface PageFetcher<L extends KubernetesListObject> {
+        L fetch(String continueToken, int limit) throws ApiException;
+    }
+
+    private ListPager() {
+    }
+
+    static <L extends KubernetesListObject, T> void forEachItem(PageFetcher<L> fetcher,
+                                                               Function<L, List<T>> items,
+                                                               int pageSize,
+                                                               Consumer<T> action) throws ApiException {
+        String continueToken = null;
+        do {
+            L page = fetcher.fetch(continueToken, pageSize);
+            List<T> pageItems = items.apply(page);
+            if (pageItems != null) {
+                pageItems.forEach(action);
+            }
+            continueToken = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+        } while (continueToken != null && !continueToken.isEmpty());
+    }
+}
@@ -6,6 +6,7 @@ import io.kubernetes.client.openapi.models.*;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
@@ -16,52 +17,69 @@ import java.util.stream.Collectors;
 public class NodeTools {
 
     private final CoreV1Api coreV1Api;
+    private final PodCache podCache;
+    private final ReadConsistency readConsistency;
 
-    public NodeTools(CoreV1Api coreV1Api) {
+    public NodeTools(CoreV1Api coreV1Api, PodCache podCache, ReadConsistency readConsistency) {
         this.coreV1Api = coreV1Api;
+        this.podCache = podCache;
+        this.readConsistency = readConsistency;
     }
 
     @Tool(name = "list_nodes", description = "Lists all Kubernetes nodes in the cluster")
-    public List<String> listNodes() {
+    public String listNodes() {
         try {
-            V1NodeList nodeList = coreV1Api.listNode(null, null, null, null, null, null, null, null, null, null);
-            return nodeList.getItems().stream()
-                    .map(node -> {
-                        String name = node.getMetadata() != null ? node.getMetadata().getName() : "unknown";
-                        boolean ready = node.getStatus() != null && node.getStatus().getConditions() != null &&
-                                node.getStatus().getConditions().stream()
-                                        .anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
-
-                        List<String> roles = node.getMetadata() != null && node.getMetadata().getLabels() != null ?
-                                node.getMetadata().getLabels().entrySet().stream()
-                                        .filter(entry -> entry.getKey().startsWith("node-role.kubernetes.io/"))
-                                        .map(entry -> entry.getKey().substring("node-role.kubernetes.io/".length()))
-                                        .collect(Collectors.toList()) : Collections.singletonList("none");
-
-                        String internalIp = node.getStatus() != null && node.getStatus().getAddresses() != null ?
-                                node.getStatus().getAddresses().stream()
-                                        .filter(address -> "InternalIP".equals(address.getType()))
-                                        .map(V1NodeAddress::getAddress)
-                                        .findFirst().orElse("N/A") : "N/A";
-
-                        String osImage = node.getStatus() != null && node.getStatus().getNodeInfo() != null ?
-                                node.getStatus().getNodeInfo().getOsImage() : "N/A";
-
-                        String kubeVersion = node.getStatus() != null && node.getStatus().getNodeInfo() != null ?
-                                node.getStatus().getNodeInfo().getKubeletVersion() : "N/A";
-
-                        return name + "\n  - Ready: " + ready +
-                                "\n  - Roles: " + String.join(", ", roles) +
-                                "\n  - Internal IP: " + internalIp +
-                                "\n  - OS Image: " + osImage +
-                                "\n  - Kubernetes Version: " + kubeVersion;
-                    })
-                    .collect(Collectors.toList());
+            return renderNodes(coreV1Api.listNode(null, null, null, null, null, null,
+                    readConsistency.resourceVersion("list_nodes"), null, null, null));
         } catch (Exception e) {
-            return Collections.emptyList();
+            return "Error listing nodes: " + e.getMessage();
         }
     }
 
+    public Mono<String> listNodesAsync() {
+        return AsyncCalls.<V1NodeList>mono(callback -> coreV1Api.listNodeAsync(null, null, null, null, null, null,
+                        readConsistency.resourceVersion("list_nodes"), null, null, null, callback))
+                .map(this::renderNodes)
+                .onErrorMap(e -> new ToolErrorException("Error listing nodes: " + e.getMessage(), e));
+    }
+
+    private String renderNodes(V1NodeList nodeList) {
+        String nodes = nodeList.getItems().isEmpty() ? "No nodes found" :
+                nodeList.getItems().stream().map(this::renderNode).collect(Collectors.joining("\n"));
+        return nodes + "\n\n" + readConsistency.describe("list_nodes");
+    }
+
+    private String renderNode(V1Node node) {
+        String name = node.getMetadata() != null ? node.getMetadata().getName() : "unknown";
+        boolean ready = node.getStatus() != null && node.getStatus().getConditions() != null &&
+                node.getStatus().getConditions().stream()
+                        .anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+
+        List<String> roles = node.getMetadata() != null && node.getMetadata().getLabels() != null ?
+                node.getMetadata().getLabels().entrySet().stream()
+                        .filter(entry -> entry.getKey().startsWith("node-role.kubernetes.io/"))
+                        .map(entry -> entry.getKey().substring("node-role.kubernetes.io/".length()))
+                        .collect(Collectors.toList()) : Collections.singletonList("none");
+
+        String internalIp = node.getStatus() != null && node.getStatus().getAddresses() != null ?
+                node.getStatus().getAddresses().stream()
+                        .filter(address -> "InternalIP".equals(address.getType()))
+                        .map(V1NodeAddress::getAddress)
+                        .findFirst().orElse("N/A") : "N/A";
+
+        String osImage = node.getStatus() != null && node.getStatus().getNodeInfo() != null ?
+                node.getStatus().getNodeInfo().getOsImage() : "N/A";
+
+        String kubeVersion = node.getStatus() != null && node.getStatus().getNodeInfo() != null ?
+                node.getStatus().getNodeInfo().getKubeletVersion() : "N/A";
+
+        return name + "\n  - Ready: " + ready +
+                "\n  - Roles: " + String.join(", ", roles) +
+                "\n  - Internal IP: " + internalIp +
+                "\n  - OS Image: " + osImage +
+                "\n  - Kubernetes Version: " + kubeVersion;
+    }
+
     @Tool(name = "describe_node", description = "Get detailed information about a specific node")
     public String describeNode(
             @ToolParam(description = "Name of the node to describe") String nodeName) {
@@ -127,10 +145,7 @@ public class NodeTools {
             Map<String, Quantity> allocatable = node.getStatus() != null ? node.getStatus().getAllocatable() : null;
             Map<String, Quantity> capacity = node.getStatus() != null ? node.getStatus().getCapacity() : null;
 
-            V1PodList podList = coreV1Api.listPodForAllNamespaces(null, null, null, null, null, null, null, null, null, null);
-            List<V1Pod> nodePods = podList.getItems().stream()
-                    .filter(pod -> pod.getSpec() != null && nodeName.equals(pod.getSpec().getNodeName()))
-                    .collect(Collectors.toList());
+            List<V1Pod> nodePods = podCache.listPodsOnNode(nodeName, readConsistency.allowsStale("get_node_metrics"));
 
             double usedCPU = nodePods.stream()
                     .mapToDouble(pod -> {
@@ -201,7 +216,7 @@ public class NodeTools {
                 sb.append("  Kernel Version: ").append(info.getKernelVersion() != null ? info.getKernelVersion() : "N/A").append("\n");
             }
 
-            return sb.toString();
+            return sb.append("\n").append(readConsistency.describe("get_node_metrics", podCache)).toString();
         } catch (Exception e) {
             return "Error getting node metrics: " + e.getMessage();
         }
@@ -211,15 +226,13 @@ public class NodeTools {
     public String getNodeEvents(
             @ToolParam(description = "Name of the node to get events for") String nodeName) {
         try {
-            CoreV1EventList eventList = coreV1Api.listEventForAllNamespaces(null, null, null, null, null, null, null, null, null, null);
+            String fieldSelector = "involvedObject.kind=Node,involvedObject.name=" + nodeName;
+            CoreV1EventList eventList = coreV1Api.listEventForAllNamespaces(null, null, fieldSelector, null, null, null, null, null, null, null);
             OffsetDateTime now = OffsetDateTime.now();
 
             List<CoreV1Event> nodeEvents = eventList.getItems().stream()
-                    .filter(event -> event.getInvolvedObject() != null &&
-                            "Node".equals(event.getInvolvedObject().getKind()) &&
-                            nodeName.equals(event.getInvolvedObject().getName()) &&
-                            (event.getLastTimestamp() == null ||
-                                    ChronoUnit.HOURS.between(event.getLastTimestamp(), now) <= 24))
+                    .filter(event -> event.getLastTimestamp() == null ||
+                            ChronoUnit.HOURS.between(event.getLastTimestamp(), now) <= 24)
                     .sorted((e1, e2) -> {
                         if (e1.getLastTimestamp() == null && e2.getLastTimestamp() == null) return 0;
                         if (e1.getLastTimestamp() == null) return 1;
@@ -259,11 +272,8 @@ public class NodeTools {
             node.getSpec().setUnschedulable(true);
             coreV1Api.replaceNode(nodeName, node, null, null, null, null);
 
-            // Get pods on the node
-            V1PodList podList = coreV1Api.listPodForAllNamespaces(null, null, null, null, null, null, null, null, null, null);
-            List<V1Pod> nodePods = podList.getItems().stream()
-                    .filter(pod -> pod.getSpec() != null && nodeName.equals(pod.getSpec().getNodeName()))
-                    .collect(Collectors.toList());
+            // Eviction needs the pods that are on the node now, never a cached view
+            List<V1Pod> nodePods = podCache.listPodsOnNode(nodeName, false);
 
             StringBuilder sb = new StringBuilder();
             sb.append("Node ").append(nodeName).append(" marked as unschedulable.\n");
@@ -0,0 +1,49 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import okhttp3.Call;
+import okhttp3.Request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimal model of a {@code meta.k8s.io/v1 PartialObjectMetadataList}, which the bundled client
+ * does not ship, plus the call that requests it. Listing with this Accept header makes the API
+ * server return only object metadata, leaving out payloads such as ConfigMap and Secret data.
+ */
+final class PartialObjectMetadataList {
+
+    static final String ACCEPT =
+            "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1,application/json";
+
+    private List<Item> items;
+
+    static final class Item {
+        private V1ObjectMeta metadata;
+    }
+
+    /**
+     * Re-issues a generated LIST call asking for metadata only and returns the item metadata.
+     */
+    static List<V1ObjectMeta> list(ApiClient apiClient, Call listCall) throws ApiException {
+        Request request = listCall.request().newBuilder()
+                .header("Accept", ACCEPT)
+                .build();
+        PartialObjectMetadataList list = apiClient.<PartialObjectMetadataList>execute(
+                apiClient.getHttpClient().newCall(request), PartialObjectMetadataList.class).getData();
+        if (list == null || list.items == null) {
+            return Collections.emptyList();
+        }
+        List<V1ObjectMeta> metadata = new ArrayList<>(list.items.size());
+        for (Item item : list.items) {
+            if (item.metadata != null) {
+                metadata.add(item.metadata);
+            }
+        }
+        return metadata;
+    }
+}
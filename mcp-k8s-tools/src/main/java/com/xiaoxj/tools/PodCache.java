@@ -0,0 +1,181 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Caches;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1LabelSelector;
+import io.kubernetes.client.openapi.models.V1Pod;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read path for pods shared by all tools. Reads that allow staleness (see {@link ReadConsistency})
+ * are served from the watch-backed informer store once it has synced, or from the API server watch
+ * cache until then; other reads are quorum LISTs. Returned pods may be shared with the cache and
+ * must not be modified.
+ */
+@Service
+public class PodCache {
+
+    public static final String NODE_NAME_INDEX = "byNodeName";
+    public static final String NAMESPACE_LABEL_INDEX = "byNamespaceLabel";
+
+    private final CoreV1Api coreV1Api;
+    private final SharedIndexInformer<V1Pod> podInformer;
+    private final AtomicLong lastEventNanos = new AtomicLong();
+
+    public PodCache(CoreV1Api coreV1Api, SharedIndexInformer<V1Pod> podInformer) {
+        this.coreV1Api = coreV1Api;
+        this.podInformer = podInformer;
+        podInformer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(V1Pod obj) {
+                lastEventNanos.set(System.nanoTime());
+            }
+
+            @Override
+            public void onUpdate(V1Pod oldObj, V1Pod newObj) {
+                lastEventNanos.set(System.nanoTime());
+            }
+
+            @Override
+            public void onDelete(V1Pod obj, boolean deletedFinalStateUnknown) {
+                lastEventNanos.set(System.nanoTime());
+            }
+        });
+    }
+
+    public boolean hasSynced() {
+        return podInformer.hasSynced();
+    }
+
+    /**
+     * Time since the informer last delivered a pod add, update or delete (the initial LIST
+     * included), or null when it has delivered none.
+     */
+    public Duration sinceLastEvent() {
+        long last = lastEventNanos.get();
+        return last == 0 ? null : Duration.ofNanos(System.nanoTime() - last);
+    }
+
+    /**
+     * Namespace pods at the requested consistency: a stale read is served from the cache, or from
+     * the API server watch cache until it syncs; otherwise a quorum LIST is issued.
+     */
+    public List<V1Pod> listNamespacedPods(String namespace, boolean allowStale) throws ApiException {
+        if (allowStale && hasSynced()) {
+            return podInformer.getIndexer().byIndex(Caches.NAMESPACE_INDEX, namespace);
+        }
+        return coreV1Api.listNamespacedPod(namespace, null, null, null, null, null, null, staleResourceVersion(allowStale), null, null, null)
+                .getItems();
+    }
+
+    public List<V1Pod> listAllPods(boolean allowStale) throws ApiException {
+        if (allowStale && hasSynced()) {
+            return podInformer.getIndexer().list();
+        }
+        return coreV1Api.listPodForAllNamespaces(null, null, null, null, null, null, staleResourceVersion(allowStale), null, null, null)
+                .getItems();
+    }
+
+    public List<V1Pod> listPodsOnNode(String nodeName, boolean allowStale) throws ApiException {
+        if (allowStale && hasSynced()) {
+            return podInformer.getIndexer().byIndex(NODE_NAME_INDEX, nodeName);
+        }
+        return coreV1Api.listPodForAllNamespaces(null, null, "spec.nodeName=" + nodeName, null, null, null, staleResourceVersion(allowStale), null, null, null)
+                .getItems();
+    }
+
+    /**
+     * Pods in the namespace matched by the selector. From a synced cache, candidates come from the
+     * label index on one {@code matchLabels} term and are then checked against the full selector.
+     */
+    public List<V1Pod> listPodsMatching(String namespace, V1LabelSelector selector, boolean allowStale) throws ApiException {
+        LabelSelectorMatcher matcher = LabelSelectorMatcher.compile(selector);
+        if (!allowStale || !hasSynced()) {
+            String labelSelector = matcher.isEmpty() ? null : matcher.toSelectorString();
+            return coreV1Api.listNamespacedPod(namespace, null, null, null, null, labelSelector, null, staleResourceVersion(allowStale), null, null, null)
+                    .getItems();
+        }
+
+        Map.Entry<String, String> term = matcher.indexTerm();
+        List<V1Pod> candidates = term != null ?
+                podInformer.getIndexer().byIndex(NAMESPACE_LABEL_INDEX, labelIndexKey(namespace, term.getKey(), term.getValue())) :
+                podInformer.getIndexer().byIndex(Caches.NAMESPACE_INDEX, namespace);
+        List<V1Pod> pods = new ArrayList<>();
+        for (V1Pod pod : candidates) {
+            if (matcher.matches(pod.getMetadata() != null ? pod.getMetadata().getLabels() : null)) {
+                pods.add(pod);
+            }
+        }
+        return pods;
+    }
+
+    /**
+     * The named pods of a namespace that exist, in the order given. Served by key lookups on a
+     * synced cache for stale reads, otherwise by a single namespace LIST rather than one GET per name.
+     */
+    public List<V1Pod> listNamedPods(String namespace, Collection<String> names, boolean allowStale) throws ApiException {
+        Set<String> uniqueNames = new LinkedHashSet<>(names);
+        List<V1Pod> pods = new ArrayList<>(uniqueNames.size());
+        if (allowStale && hasSynced()) {
+            for (String name : uniqueNames) {
+                V1Pod pod = podInformer.getIndexer().getByKey(namespace + "/" + name);
+                if (pod != null) {
+                    pods.add(pod);
+                }
+            }
+            return pods;
+        }
+
+        Map<String, V1Pod> byName = new HashMap<>();
+        for (V1Pod pod : listNamespacedPods(namespace, allowStale)) {
+            if (pod.getMetadata() != null) {
+                byName.put(pod.getMetadata().getName(), pod);
+            }
+        }
+        for (String name : uniqueNames) {
+            if (byName.containsKey(name)) {
+                pods.add(byName.get(name));
+            }
+        }
+        return pods;
+    }
+
+    static List<String> nodeNameIndexFunc(V1Pod pod) {
+        if (pod.getSpec() == null || pod.getSpec().getNodeName() == null) {
+            return Collections.emptyList();
+        }
+        return List.of(pod.getSpec().getNodeName());
+    }
+
+    static List<String> namespaceLabelIndexFunc(V1Pod pod) {
+        if (pod.getMetadata() == null || pod.getMetadata().getLabels() == null) {
+            return Collections.emptyList();
+        }
+        String namespace = pod.getMetadata().getNamespace();
+        List<String> keys = new ArrayList<>(pod.getMetadata().getLabels().size());
+        pod.getMetadata().getLabels().forEach((key, value) -> keys.add(labelIndexKey(namespace, key, value)));
+        return keys;
+    }
+
+    private static String staleResourceVersion(boolean allowStale) {
+        return allowStale ? "0" : null;
+    }
+
+    private static String labelIndexKey(String namespace, String key, String value) {
+        return namespace + "/" + key + "=" + value;
+    }
+}
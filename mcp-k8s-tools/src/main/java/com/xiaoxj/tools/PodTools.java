@@ -2,6 +2,7 @@ package com.xiaoxj.tools;
 
 
 import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.*;
@@ -9,9 +10,11 @@ import io.kubernetes.client.util.Streams;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.io.ByteArrayOutputStream;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,10 +22,14 @@ public class PodTools {
 
     private final CoreV1Api coreV1Api;
     private final AppsV1Api appsV1Api;
+    private final PodCache podCache;
+    private final ReadConsistency readConsistency;
 
-    public PodTools(CoreV1Api coreV1Api, AppsV1Api appsV1Api) {
+    public PodTools(CoreV1Api coreV1Api, AppsV1Api appsV1Api, PodCache podCache, ReadConsistency readConsistency) {
         this.coreV1Api = coreV1Api;
         this.appsV1Api = appsV1Api;
+        this.podCache = podCache;
+        this.readConsistency = readConsistency;
     }
 
 //    @Tool(name = "list_pods", description = "Lists all Kubernetes pods in the specified namespace")
@@ -37,9 +44,9 @@ public class PodTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1PodList podList = coreV1Api.listNamespacedPod(ns, null, null, null, null, null, null, null, null, null, null);
+            List<V1Pod> pods = podCache.listNamespacedPods(ns, readConsistency.allowsStale("list_pods"));
 
-            return podList.getItems().stream()
+            List<String> result = pods.stream()
                     .map(pod -> {
                         String name = pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown";
                         String phase = pod.getStatus() != null ? pod.getStatus().getPhase() : "unknown";
@@ -52,7 +59,9 @@ public class PodTools {
                                 "\n  - Ready: " + ready +
                                 "\n  - IP: " + ip;
                     })
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toCollection(ArrayList::new));
+            result.add(readConsistency.describe("list_pods", podCache));
+            return result;
         } catch (Exception e) {
             return Collections.emptyList();
         }
@@ -74,29 +83,7 @@ public class PodTools {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
             String logs = coreV1Api.readNamespacedPodLog(podName, ns, null, null, false, null, null, null, null, tailLines, null);
-
-            // Analyze logs for common error patterns
-            Map<String, String> errorPatterns = new HashMap<>();
-            errorPatterns.put("OutOfMemoryError", "Memory issues detected");
-            errorPatterns.put("Exception", "Application exceptions found");
-            errorPatterns.put("Error", "General errors detected");
-            errorPatterns.put("Failed to pull image", "Image pull issues");
-            errorPatterns.put("Connection refused", "Network connectivity issues");
-            errorPatterns.put("Permission denied", "Permission/RBAC issues");
-
-            List<String> analysis = errorPatterns.entrySet().stream()
-                    .filter(entry -> logs.toLowerCase().contains(entry.getKey().toLowerCase()))
-                    .map(Map.Entry::getValue)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            if (analysis.isEmpty()) {
-                return logs;
-            } else {
-                return "Log Analysis:\n" +
-                        analysis.stream().map(item -> "- " + item).collect(Collectors.joining("\n")) +
-                        "\n\nLogs:\n" + logs;
-            }
+            return analyzeLogs(logs);
         } catch (Exception e) {
             return "Error retrieving logs: " + e.getMessage();
         }
@@ -117,37 +104,122 @@ public class PodTools {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
             V1Pod pod = coreV1Api.readNamespacedPod(podName, ns, null);
+            return renderPodDescription(pod);
+        } catch (Exception e) {
+            return "Error describing pod: " + e.getMessage();
+        }
+    }
 
-            StringBuilder sb = new StringBuilder();
-            sb.append("Pod: ").append(pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown").append("\n");
-            sb.append("Namespace: ").append(pod.getMetadata() != null ? pod.getMetadata().getNamespace() : "unknown").append("\n");
-            sb.append("Status: ").append(pod.getStatus() != null ? pod.getStatus().getPhase() : "unknown").append("\n");
-            sb.append("IP: ").append(pod.getStatus() != null ? pod.getStatus().getPodIP() : "N/A").append("\n");
-            sb.append("Node: ").append(pod.getSpec() != null ? pod.getSpec().getNodeName() : "N/A").append("\n");
-            sb.append("Containers:\n");
-
-            if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
-                for (V1Container container : pod.getSpec().getContainers()) {
-                    sb.append("  - ").append(container.getName()).append(":\n");
-                    sb.append("    Image: ").append(container.getImage()).append("\n");
-
-                    boolean ready = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null &&
-                            pod.getStatus().getContainerStatuses().stream()
-                                    .filter(status -> container.getName().equals(status.getName()))
-                                    .findFirst()
-                                    .map(V1ContainerStatus::getReady)
-                                    .orElse(false);
-
-                    sb.append("    Ready: ").append(ready).append("\n");
-                }
+    @Tool(name = "describe_pods", description = "Gets details of several Kubernetes pods in one call, selected by names or a label selector")
+    public String describePods(
+            @ToolParam(description = "Names of the pods to describe", required = false) List<String> podNames,
+            @ToolParam(description = "Label selector such as app=web,tier!=db; used when no names are given", required = false) String labelSelector,
+            @ToolParam(description = "The Kubernetes namespace where the pods are located") String namespace,
+            @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
+        try {
+            String ns = namespace != null ? namespace : defaultNamespace;
+            return renderPods("describe_pods", ns, podNames, labelSelector, this::renderPodDescription, "\n");
+        } catch (Exception e) {
+            return "Error describing pods: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Resolves the pods of a batch tool with one cache lookup or one LIST and renders them
+     * together, noting any names that were not found.
+     */
+    private String renderPods(String tool, String ns, List<String> podNames, String labelSelector,
+                              Function<V1Pod, String> renderer, String separator) throws ApiException {
+        boolean byName = podNames != null && !podNames.isEmpty();
+        if (!byName && (labelSelector == null || labelSelector.isBlank())) {
+            return "Error: specify pod names or a label selector";
+        }
+        List<V1Pod> pods = byName ?
+                podCache.listNamedPods(ns, podNames, readConsistency.allowsStale(tool)) :
+                podCache.listPodsMatching(ns, LabelSelectorMatcher.parse(labelSelector), readConsistency.allowsStale(tool));
+        if (pods.isEmpty()) {
+            return "No matching pods found in namespace '" + ns + "'\n\n" + readConsistency.describe(tool, podCache);
+        }
+
+        StringBuilder sb = new StringBuilder(pods.stream().map(renderer).collect(Collectors.joining(separator)));
+        if (byName) {
+            Set<String> found = pods.stream().map(pod -> pod.getMetadata().getName()).collect(Collectors.toSet());
+            List<String> missing = podNames.stream().filter(name -> !found.contains(name)).distinct().toList();
+            if (!missing.isEmpty()) {
+                sb.append("\n\nNot found: ").append(String.join(", ", missing));
             }
+        }
+        return sb.append("\n\n").append(readConsistency.describe(tool, podCache)).toString();
+    }
 
-            return sb.toString();
-        } catch (Exception e) {
-            return "Error describing pod: " + e.getMessage();
+    public Mono<String> getPodLogsAsync(String podName, String namespace, String defaultNamespace, int tailLines) {
+        String ns = namespace != null ? namespace : defaultNamespace;
+        return AsyncCalls.<String>mono(callback -> coreV1Api.readNamespacedPodLogAsync(
+                        podName, ns, null, null, false, null, null, null, null, tailLines, null, callback))
+                .map(this::analyzeLogs)
+                .onErrorMap(e -> new ToolErrorException("Error retrieving logs: " + e.getMessage(), e));
+    }
+
+    private String analyzeLogs(String logs) {
+        // Analyze logs for common error patterns
+        Map<String, String> errorPatterns = new HashMap<>();
+        errorPatterns.put("OutOfMemoryError", "Memory issues detected");
+        errorPatterns.put("Exception", "Application exceptions found");
+        errorPatterns.put("Error", "General errors detected");
+        errorPatterns.put("Failed to pull image", "Image pull issues");
+        errorPatterns.put("Connection refused", "Network connectivity issues");
+        errorPatterns.put("Permission denied", "Permission/RBAC issues");
+
+        List<String> analysis = errorPatterns.entrySet().stream()
+                .filter(entry -> logs.toLowerCase().contains(entry.getKey().toLowerCase()))
+                .map(Map.Entry::getValue)
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (analysis.isEmpty()) {
+            return logs;
+        } else {
+            return "Log Analysis:\n" +
+                    analysis.stream().map(item -> "- " + item).collect(Collectors.joining("\n")) +
+                    "\n\nLogs:\n" + logs;
         }
     }
 
+    public Mono<String> describePodAsync(String podName, String namespace, String defaultNamespace) {
+        String ns = namespace != null ? namespace : defaultNamespace;
+        return AsyncCalls.<V1Pod>mono(callback -> coreV1Api.readNamespacedPodAsync(podName, ns, null, callback))
+                .map(this::renderPodDescription)
+                .onErrorMap(e -> new ToolErrorException("Error describing pod: " + e.getMessage(), e));
+    }
+
+    private String renderPodDescription(V1Pod pod) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Pod: ").append(pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown").append("\n");
+        sb.append("Namespace: ").append(pod.getMetadata() != null ? pod.getMetadata().getNamespace() : "unknown").append("\n");
+        sb.append("Status: ").append(pod.getStatus() != null ? pod.getStatus().getPhase() : "unknown").append("\n");
+        sb.append("IP: ").append(pod.getStatus() != null ? pod.getStatus().getPodIP() : "N/A").append("\n");
+        sb.append("Node: ").append(pod.getSpec() != null ? pod.getSpec().getNodeName() : "N/A").append("\n");
+        sb.append("Containers:\n");
+
+        if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
+            for (V1Container container : pod.getSpec().getContainers()) {
+                sb.append("  - ").append(container.getName()).append(":\n");
+                sb.append("    Image: ").append(container.getImage()).append("\n");
+
+                boolean ready = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null &&
+                        pod.getStatus().getContainerStatuses().stream()
+                                .filter(status -> container.getName().equals(status.getName()))
+                                .findFirst()
+                                .map(V1ContainerStatus::getReady)
+                                .orElse(false);
+
+                sb.append("    Ready: ").append(ready).append("\n");
+            }
+        }
+
+        return sb.toString();
+    }
+
 //    @Tool(name = "diagnose_pods", description = "Analyzes problematic pods and provides troubleshooting recommendations")
 //    public String analyzePodIssues(
 //            @ToolParam(description = "The Kubernetes namespace to analyze pods from") String namespace) {
@@ -160,16 +232,17 @@ public class PodTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1PodList pods = coreV1Api.listNamespacedPod(ns, null, null, null, null, null, null, null, null, null, null);
+            List<V1Pod> pods = podCache.listNamespacedPods(ns, readConsistency.allowsStale("diagnose_pods"));
 
             List<String> problematicPods = new ArrayList<>();
             List<String> recommendations = new ArrayList<>();
 
-            for (V1Pod pod : pods.getItems()) {
+            for (V1Pod pod : pods) {
                 analyzePod(pod, problematicPods, recommendations);
             }
 
-            return formatAnalysisResults(ns, problematicPods, recommendations);
+            return formatAnalysisResults(ns, problematicPods, recommendations) +
+                    "\n\n" + readConsistency.describe("diagnose_pods", podCache);
         } catch (Exception e) {
             return "Error analyzing pods: " + e.getMessage();
         }
@@ -319,57 +392,73 @@ public class PodTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1Pod pod = coreV1Api.readNamespacedPod(podName, ns, null);
+            return renderPodMetrics(coreV1Api.readNamespacedPod(podName, ns, null));
+        } catch (Exception e) {
+            return "Error getting pod metrics: " + e.getMessage();
+        }
+    }
 
-            List<String> containerMetrics = new ArrayList<>();
-            if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
-                for (V1Container container : pod.getSpec().getContainers()) {
-                    V1ResourceRequirements resources = container.getResources();
-                    Map<String, Quantity> requests = resources != null ? resources.getRequests() : null;
-                    Map<String, Quantity> limits = resources != null ? resources.getLimits() : null;
-
-                    V1ContainerStatus containerStatus = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null ?
-                            pod.getStatus().getContainerStatuses().stream()
-                                    .filter(status -> container.getName().equals(status.getName()))
-                                    .findFirst()
-                                    .orElse(null) : null;
-
-                    String state = "Unknown";
-                    if (containerStatus != null && containerStatus.getState() != null) {
-                        if (containerStatus.getState().getRunning() != null) {
-                            state = "Running since " + containerStatus.getState().getRunning().getStartedAt();
-                        } else if (containerStatus.getState().getWaiting() != null) {
-                            state = "Waiting (" + containerStatus.getState().getWaiting().getReason() + ")";
-                        } else if (containerStatus.getState().getTerminated() != null) {
-                            state = "Terminated (" + containerStatus.getState().getTerminated().getReason() + ")";
-                        }
-                    }
+    @Tool(name = "get_pods_metrics", description = "Get resource usage metrics for several pods in one call, selected by names or a label selector")
+    public String getPodsMetrics(
+            @ToolParam(description = "Names of the pods to get metrics for", required = false) List<String> podNames,
+            @ToolParam(description = "Label selector such as app=web,tier!=db; used when no names are given", required = false) String labelSelector,
+            @ToolParam(description = "The Kubernetes namespace where the pods are located") String namespace,
+            @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
+        try {
+            String ns = namespace != null ? namespace : defaultNamespace;
+            return renderPods("get_pods_metrics", ns, podNames, labelSelector, this::renderPodMetrics, "\n\n");
+        } catch (Exception e) {
+            return "Error getting pod metrics: " + e.getMessage();
+        }
+    }
 
-                    containerMetrics.add(
-                            "Container: " + container.getName() + "\n" +
-                                    "Resource Requests:\n" +
-                                    "  CPU: " + (requests != null ? requests.get("cpu") : "Not set") + "\n" +
-                                    "  Memory: " + (requests != null ? requests.get("memory") : "Not set") + "\n" +
-                                    "Resource Limits:\n" +
-                                    "  CPU: " + (limits != null ? limits.get("cpu") : "Not set") + "\n" +
-                                    "  Memory: " + (limits != null ? limits.get("memory") : "Not set") + "\n" +
-                                    "Status:\n" +
-                                    "  Ready: " + (containerStatus != null ? containerStatus.getReady() : false) + "\n" +
-                                    "  Restarts: " + (containerStatus != null ? containerStatus.getRestartCount() : 0) + "\n" +
-                                    "  State: " + state
-                    );
+    private String renderPodMetrics(V1Pod pod) {
+        List<String> containerMetrics = new ArrayList<>();
+        if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
+            for (V1Container container : pod.getSpec().getContainers()) {
+                V1ResourceRequirements resources = container.getResources();
+                Map<String, Quantity> requests = resources != null ? resources.getRequests() : null;
+                Map<String, Quantity> limits = resources != null ? resources.getLimits() : null;
+
+                V1ContainerStatus containerStatus = pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null ?
+                        pod.getStatus().getContainerStatuses().stream()
+                                .filter(status -> container.getName().equals(status.getName()))
+                                .findFirst()
+                                .orElse(null) : null;
+
+                String state = "Unknown";
+                if (containerStatus != null && containerStatus.getState() != null) {
+                    if (containerStatus.getState().getRunning() != null) {
+                        state = "Running since " + containerStatus.getState().getRunning().getStartedAt();
+                    } else if (containerStatus.getState().getWaiting() != null) {
+                        state = "Waiting (" + containerStatus.getState().getWaiting().getReason() + ")";
+                    } else if (containerStatus.getState().getTerminated() != null) {
+                        state = "Terminated (" + containerStatus.getState().getTerminated().getReason() + ")";
+                    }
                 }
-            }
 
-            return "Pod Metrics for " + podName + ":\n" +
-                    "Node: " + (pod.getSpec() != null ? pod.getSpec().getNodeName() : "Not scheduled") + "\n" +
-                    "Phase: " + (pod.getStatus() != null ? pod.getStatus().getPhase() : "unknown") + "\n" +
-                    "Start Time: " + (pod.getStatus() != null ? pod.getStatus().getStartTime() : "unknown") + "\n\n" +
-                    "Container Metrics:\n" +
-                    String.join("\n\n", containerMetrics);
-        } catch (Exception e) {
-            return "Error getting pod metrics: " + e.getMessage();
+                containerMetrics.add(
+                        "Container: " + container.getName() + "\n" +
+                                "Resource Requests:\n" +
+                                "  CPU: " + (requests != null ? requests.get("cpu") : "Not set") + "\n" +
+                                "  Memory: " + (requests != null ? requests.get("memory") : "Not set") + "\n" +
+                                "Resource Limits:\n" +
+                                "  CPU: " + (limits != null ? limits.get("cpu") : "Not set") + "\n" +
+                                "  Memory: " + (limits != null ? limits.get("memory") : "Not set") + "\n" +
+                                "Status:\n" +
+                                "  Ready: " + (containerStatus != null ? containerStatus.getReady() : false) + "\n" +
+                                "  Restarts: " + (containerStatus != null ? containerStatus.getRestartCount() : 0) + "\n" +
+                                "  State: " + state
+                );
+            }
         }
+
+        return "Pod Metrics for " + (pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown") + ":\n" +
+                "Node: " + (pod.getSpec() != null ? pod.getSpec().getNodeName() : "Not scheduled") + "\n" +
+                "Phase: " + (pod.getStatus() != null ? pod.getStatus().getPhase() : "unknown") + "\n" +
+                "Start Time: " + (pod.getStatus() != null ? pod.getStatus().getStartTime() : "unknown") + "\n\n" +
+                "Container Metrics:\n" +
+                String.join("\n\n", containerMetrics);
     }
 
 //    @Tool(name = "exec_in_pod", description = "Execute a command in a pod container")
@@ -0,0 +1,152 @@
+package com.xiaoxj.tools;
+
+import com.google.protobuf.Message;
+import io.kubernetes.client.ProtoClient;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.*;
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.proto.V1;
+import io.kubernetes.client.proto.V1Apps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in protobuf wire encoding for the large core LIST calls. Resources named in
+ * {@code k8s.tools.protobuf.resources} (any of pods, nodes, deployments, events) are listed with
+ * {@code application/vnd.kubernetes.protobuf} through {@link ProtoClient} instead of JSON/Gson.
+ */
+@Service
+public class ProtobufLists {
+
+    public static final String PODS = "pods";
+    public static final String NODES = "nodes";
+    public static final String DEPLOYMENTS = "deployments";
+    public static final String EVENTS = "events";
+
+    private final ProtoClient protoClient;
+    private final Set<String> enabledResources;
+
+    public ProtobufLists(ApiClient kubernetesClient,
+                         @Value("${k8s.tools.protobuf.resources:}") List<String> enabledResources) {
+        this.protoClient = new ProtoClient(kubernetesClient);
+        this.enabledResources = new HashSet<>();
+        for (String resource : enabledResources) {
+            if (!resource.isBlank()) {
+                this.enabledResources.add(resource.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    public boolean isEnabled(String resource) {
+        return enabledResources.contains(resource);
+    }
+
+    /**
+     * Lists all pods page by page; a non-null {@code resourceVersion} is sent with the first page.
+     */
+    public void forEachPod(String resourceVersion, int pageSize, Consumer<V1.Pod> action) throws ApiException {
+        forEachPage(V1.PodList::newBuilder, "/api/v1/pods", resourceVersion, pageSize,
+                (V1.PodList page) -> {
+                    page.getItemsList().forEach(action);
+                    return page.getMetadata();
+                });
+    }
+
+    public void forEachNode(String resourceVersion, int pageSize, Consumer<V1.Node> action) throws ApiException {
+        forEachPage(V1.NodeList::newBuilder, "/api/v1/nodes", resourceVersion, pageSize,
+                (V1.NodeList page) -> {
+                    page.getItemsList().forEach(action);
+                    return page.getMetadata();
+                });
+    }
+
+    public void forEachDeployment(String resourceVersion, int pageSize, Consumer<V1Apps.Deployment> action) throws ApiException {
+        forEachPage(V1Apps.DeploymentList::newBuilder, "/apis/apps/v1/deployments", resourceVersion, pageSize,
+                (V1Apps.DeploymentList page) -> {
+                    page.getItemsList().forEach(action);
+                    return page.getMetadata();
+                });
+    }
+
+    /**
+     * Lists a namespace's events over protobuf and maps them to the JSON model, copying the
+     * fields the event tools report on.
+     */
+    public List<CoreV1Event> listNamespacedEvents(String namespace, int pageSize) throws ApiException {
+        List<CoreV1Event> events = new ArrayList<>();
+        forEachPage(V1.EventList::newBuilder, "/api/v1/namespaces/" + namespace + "/events", null, pageSize,
+                (V1.EventList page) -> {
+                    page.getItemsList().forEach(event -> events.add(toModel(event)));
+                    return page.getMetadata();
+                });
+        return events;
+    }
+
+    // The API server rejects resourceVersion together with continue, so it only goes on the first page
+    private <L extends Message> void forEachPage(Supplier<Message.Builder> builder, String path, String resourceVersion,
+                                                 int pageSize, Function<L, Meta.ListMeta> onPage) throws ApiException {
+        String continueToken = "";
+        do {
+            String query = path + "?limit=" + pageSize +
+                    (continueToken.isEmpty() ?
+                            (resourceVersion != null ? "&resourceVersion=" + resourceVersion : "") :
+                            "&continue=" + URLEncoder.encode(continueToken, StandardCharsets.UTF_8));
+            ProtoClient.ObjectOrStatus<L> result;
+            try {
+                result = protoClient.list(builder.get(), query);
+            } catch (IOException e) {
+                throw new ApiException(e);
+            }
+            if (result.object == null) {
+                throw new ApiException(result.status != null ? result.status.getCode() : 0,
+                        result.status != null ? result.status.getMessage() : "Empty protobuf response for " + path);
+            }
+            continueToken = onPage.apply(result.object).getContinue();
+        } while (!continueToken.isEmpty());
+    }
+
+    private static CoreV1Event toModel(V1.Event event) {
+        Meta.ObjectMeta metadata = event.getMetadata();
+        V1ObjectReference involvedObject = new V1ObjectReference()
+                .kind(event.getInvolvedObject().getKind())
+                .name(event.getInvolvedObject().getName())
+                .namespace(event.getInvolvedObject().getNamespace());
+        return new CoreV1Event()
+                .metadata(new V1ObjectMeta()
+                        .name(metadata.getName())
+                        .namespace(metadata.getNamespace())
+                        .uid(metadata.getUid())
+                        .creationTimestamp(metadata.hasCreationTimestamp() ?
+                                toTime(metadata.getCreationTimestamp().getSeconds(), metadata.getCreationTimestamp().getNanos()) : null))
+                .involvedObject(involvedObject)
+                .type(event.hasType() ? event.getType() : null)
+                .reason(event.hasReason() ? event.getReason() : null)
+                .message(event.hasMessage() ? event.getMessage() : null)
+                .count(event.hasCount() ? event.getCount() : null)
+                .source(event.hasSource() ? new V1EventSource()
+                        .component(event.getSource().hasComponent() ? event.getSource().getComponent() : null)
+                        .host(event.getSource().hasHost() ? event.getSource().getHost() : null) : null)
+                .firstTimestamp(event.hasFirstTimestamp() ?
+                        toTime(event.getFirstTimestamp().getSeconds(), event.getFirstTimestamp().getNanos()) : null)
+                .lastTimestamp(event.hasLastTimestamp() ?
+                        toTime(event.getLastTimestamp().getSeconds(), event.getLastTimestamp().getNanos()) : null)
+                .eventTime(event.hasEventTime() ?
+                        toTime(event.getEventTime().getSeconds(), event.getEventTime().getNanos()) : null);
+    }
+
+    private static OffsetDateTime toTime(long seconds, int nanos) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(seconds, nanos), ZoneOffset.UTC);
+    }
+}
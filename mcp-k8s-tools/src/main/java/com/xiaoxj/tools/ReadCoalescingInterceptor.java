@@ -0,0 +1,101 @@
+package com.xiaoxj.tools;
+
+import okhttp3.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Single-flight layer for the tools' API client. Identical GETs that are in flight at the same
+ * time (same method, URL with namespace and selectors, and Accept header) share one round-trip;
+ * the buffered response is handed to every waiter. Watches and followed logs are streamed and
+ * never coalesced.
+ */
+final class ReadCoalescingInterceptor implements Interceptor {
+
+    private final Map<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isCoalescible(request)) {
+            return chain.proceed(request);
+        }
+
+        String key = request.method() + " " + request.url() + " " + request.header("Accept");
+        CompletableFuture<BufferedResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            return await(leader).toResponse(request);
+        }
+
+        try {
+            BufferedResponse response;
+            try (Response networkResponse = chain.proceed(request)) {
+                response = BufferedResponse.of(networkResponse);
+            }
+            call.complete(response);
+            return response.toResponse(request);
+        } catch (IOException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static boolean isCoalescible(Request request) {
+        if (!"GET".equals(request.method())) {
+            return false;
+        }
+        HttpUrl url = request.url();
+        return !isTrue(url.queryParameter("watch")) && !isTrue(url.queryParameter("follow"));
+    }
+
+    private static boolean isTrue(String value) {
+        return "true".equalsIgnoreCase(value) || "1".equals(value);
+    }
+
+    private static BufferedResponse await(CompletableFuture<BufferedResponse> leader) throws IOException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced read");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private record BufferedResponse(Protocol protocol, int code, String message, Headers headers,
+                                    MediaType contentType, byte[] body) {
+
+        static BufferedResponse of(Response response) throws IOException {
+            ResponseBody body = response.body();
+            return new BufferedResponse(response.protocol(), response.code(), response.message(), response.headers(),
+                    body != null ? body.contentType() : null, body != null ? body.bytes() : new byte[0]);
+        }
+
+        Response toResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(protocol)
+                    .code(code)
+                    .message(message)
+                    .headers(headers)
+                    .body(ResponseBody.create(body, contentType))
+                    .build();
+        }
+    }
+}
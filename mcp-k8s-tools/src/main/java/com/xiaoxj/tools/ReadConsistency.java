@@ -0,0 +1,83 @@
+package com.xiaoxj.tools;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Per-tool read consistency. Tools listed in {@code k8s.tools.consistency.watch-cache-tools} may be
+ * answered from the pod cache or the API server's watch cache ({@code resourceVersion=0}) instead of
+ * a quorum read from etcd. Every other tool reads with strong consistency, including every pod read
+ * that would otherwise be served by {@link PodCache}.
+ */
+@Service
+public class ReadConsistency {
+
+    private static final String WATCH_CACHE_RESOURCE_VERSION = "0";
+    private static final String STRONG = "Consistency: strong (quorum read)";
+
+    private final Set<String> watchCacheTools;
+
+    public ReadConsistency(
+            @Value("${k8s.tools.consistency.watch-cache-tools:" +
+                    "list_pods,describe_pods,get_pods_metrics,diagnose_pods,describe_deployment,describe_deployments," +
+                    "analyze_deployment,check_cluster_health,get_failed_workloads,analyze_resource_bottlenecks," +
+                    "get_node_metrics,get_cluster_resource_usage,get_namespace_resource_usage," +
+                    "list_pod_tolerations,list_pod_node_affinity,list_nodes}") List<String> watchCacheTools) {
+        this.watchCacheTools = new HashSet<>();
+        for (String tool : watchCacheTools) {
+            if (!tool.isBlank()) {
+                this.watchCacheTools.add(tool.trim());
+            }
+        }
+    }
+
+    public boolean allowsStale(String tool) {
+        return watchCacheTools.contains(tool);
+    }
+
+    /**
+     * The {@code resourceVersion} to list with: {@code "0"} for watch-cache tools, otherwise null
+     * for a quorum read.
+     */
+    public String resourceVersion(String tool) {
+        return allowsStale(tool) ? WATCH_CACHE_RESOURCE_VERSION : null;
+    }
+
+    /**
+     * Note for tools that only LIST with {@link #resourceVersion(String)}.
+     */
+    public String describe(String tool) {
+        return allowsStale(tool) ? "Consistency: API server watch cache (resourceVersion=0)" : STRONG;
+    }
+
+    /**
+     * Note for tools that read pods through {@link PodCache}: where the pods came from and, for the
+     * informer cache, how long ago it last received a watch event. Resources in
+     * {@code watchCacheResources} are the tool's other reads listed at {@code resourceVersion=0};
+     * anything else the tool reads is a quorum read.
+     */
+    public String describe(String tool, PodCache podCache, String... watchCacheResources) {
+        if (!allowsStale(tool)) {
+            return STRONG;
+        }
+        StringBuilder note = new StringBuilder("Consistency: pods from ");
+        if (podCache.hasSynced()) {
+            Duration sinceLastEvent = podCache.sinceLastEvent();
+            note.append("the informer cache, last watch event ").append(sinceLastEvent != null ?
+                    String.format(Locale.ROOT, "%.1fs ago", sinceLastEvent.toMillis() / 1000.0) : "not received yet");
+        } else {
+            note.append("the API server watch cache (resourceVersion=0)");
+        }
+        if (watchCacheResources.length > 0) {
+            note.append("; ").append(String.join(" and ", watchCacheResources))
+                    .append(" from the API server watch cache (resourceVersion=0)");
+        }
+        return note.toString();
+    }
+}
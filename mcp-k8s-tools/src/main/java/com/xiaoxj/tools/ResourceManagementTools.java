@@ -7,6 +7,7 @@ import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -14,9 +15,13 @@ import java.util.stream.Collectors;
 public class ResourceManagementTools {
 
     private final CoreV1Api coreV1Api;
+    private final PodCache podCache;
+    private final ReadConsistency readConsistency;
 
-    public ResourceManagementTools(CoreV1Api coreV1Api) {
+    public ResourceManagementTools(CoreV1Api coreV1Api, PodCache podCache, ReadConsistency readConsistency) {
         this.coreV1Api = coreV1Api;
+        this.podCache = podCache;
+        this.readConsistency = readConsistency;
     }
 
 //    @Tool(name = "get_namespace_resource_quotas", description = "Get resource quotas for a namespace")
@@ -143,8 +148,9 @@ public class ResourceManagementTools {
     @Tool(name = "get_cluster_resource_usage", description = "Get overall cluster resource utilization")
     public String getClusterResourceUsage() {
         try {
-            V1NodeList nodes = coreV1Api.listNode(null, null, null, null, null, null, null, null, null, null);
-            V1PodList pods = coreV1Api.listPodForAllNamespaces(null, null, null, null, null, null, null, null, null, null);
+            String resourceVersion = readConsistency.resourceVersion("get_cluster_resource_usage");
+            V1NodeList nodes = coreV1Api.listNode(null, null, null, null, null, null, resourceVersion, null, null, null);
+            List<V1Pod> pods = podCache.listAllPods(readConsistency.allowsStale("get_cluster_resource_usage"));
 
             double totalCPU = 0.0;
             double totalMemory = 0.0;
@@ -163,7 +169,7 @@ public class ResourceManagementTools {
                 }
             }
 
-            for (V1Pod pod : pods.getItems()) {
+            for (V1Pod pod : pods) {
                 if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
                     for (V1Container container : pod.getSpec().getContainers()) {
                         if (container.getResources() != null && container.getResources().getRequests() != null) {
@@ -192,7 +198,8 @@ public class ResourceManagementTools {
                     "  Used: " + usedMemory + "\n" +
                     "  Usage: " + memoryUsagePercent + "%\n\n" +
                     "Nodes: " + nodes.getItems().size() + "\n" +
-                    "Pods: " + pods.getItems().size();
+                    "Pods: " + pods.size() + "\n\n" +
+                    readConsistency.describe("get_cluster_resource_usage", podCache, "nodes");
         } catch (Exception e) {
             return "Error getting cluster resource usage: " + e.getMessage();
         }
@@ -210,14 +217,14 @@ public class ResourceManagementTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1PodList pods = coreV1Api.listNamespacedPod(ns, null, null, null, null, null, null, null, null, null, null);
+            List<V1Pod> pods = podCache.listNamespacedPods(ns, readConsistency.allowsStale("get_namespace_resource_usage"));
 
             double cpuRequests = 0.0;
             double memoryRequests = 0.0;
             double cpuLimits = 0.0;
             double memoryLimits = 0.0;
 
-            for (V1Pod pod : pods.getItems()) {
+            for (V1Pod pod : pods) {
                 if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
                     for (V1Container container : pod.getSpec().getContainers()) {
                         if (container.getResources() != null) {
@@ -244,15 +251,15 @@ public class ResourceManagementTools {
                 }
             }
 
-            long runningPods = pods.getItems().stream()
+            long runningPods = pods.stream()
                     .filter(pod -> pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase()))
                     .count();
 
-            long pendingPods = pods.getItems().stream()
+            long pendingPods = pods.stream()
                     .filter(pod -> pod.getStatus() != null && "Pending".equals(pod.getStatus().getPhase()))
                     .count();
 
-            long failedPods = pods.getItems().stream()
+            long failedPods = pods.stream()
                     .filter(pod -> pod.getStatus() != null && "Failed".equals(pod.getStatus().getPhase()))
                     .count();
 
@@ -263,10 +270,11 @@ public class ResourceManagementTools {
                     "Memory:\n" +
                     "  Requests: " + memoryRequests + "\n" +
                     "  Limits: " + memoryLimits + "\n\n" +
-                    "Total Pods: " + pods.getItems().size() + "\n" +
+                    "Total Pods: " + pods.size() + "\n" +
                     "Running Pods: " + runningPods + "\n" +
                     "Pending Pods: " + pendingPods + "\n" +
-                    "Failed Pods: " + failedPods;
+                    "Failed Pods: " + failedPods + "\n\n" +
+                    readConsistency.describe("get_namespace_resource_usage", podCache);
         } catch (Exception e) {
             return "Error getting namespace resource usage: " + e.getMessage();
         }
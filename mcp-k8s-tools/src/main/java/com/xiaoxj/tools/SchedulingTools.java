@@ -7,6 +7,7 @@ import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,10 +17,15 @@ public class SchedulingTools {
 
     private final CoreV1Api coreV1Api;
     private final SchedulingV1Api schedulingV1Api;
+    private final PodCache podCache;
+    private final ReadConsistency readConsistency;
 
-    public SchedulingTools(CoreV1Api coreV1Api, SchedulingV1Api schedulingV1Api) {
+    public SchedulingTools(CoreV1Api coreV1Api, SchedulingV1Api schedulingV1Api, PodCache podCache,
+                           ReadConsistency readConsistency) {
         this.coreV1Api = coreV1Api;
         this.schedulingV1Api = schedulingV1Api;
+        this.podCache = podCache;
+        this.readConsistency = readConsistency;
     }
 
     @Tool(name = "list_priority_classes", description = "Lists all priority classes in the cluster")
@@ -110,9 +116,9 @@ public class SchedulingTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1PodList podList = coreV1Api.listNamespacedPod(ns, null, null, null, null, null, null, null, null, null, null);
+            List<V1Pod> pods = podCache.listNamespacedPods(ns, readConsistency.allowsStale("list_pod_tolerations"));
 
-            return podList.getItems().stream()
+            List<String> result = pods.stream()
                     .filter(pod -> pod.getSpec() != null && pod.getSpec().getTolerations() != null && !pod.getSpec().getTolerations().isEmpty())
                     .map(pod -> {
                         String name = pod.getMetadata() != null ? pod.getMetadata().getName() : "unknown";
@@ -127,7 +133,9 @@ public class SchedulingTools {
 
                         return name + ":\n  Tolerations:\n" + tolerations;
                     })
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toCollection(ArrayList::new));
+            result.add(readConsistency.describe("list_pod_tolerations", podCache));
+            return result;
         } catch (Exception e) {
             return Collections.emptyList();
         }
@@ -145,9 +153,9 @@ public class SchedulingTools {
             @ToolParam(description = "Default namespace if not specified") String defaultNamespace) {
         try {
             String ns = namespace != null ? namespace : defaultNamespace;
-            V1PodList podList = coreV1Api.listNamespacedPod(ns, null, null, null, null, null, null, null, null, null, null);
+            List<V1Pod> pods = podCache.listNamespacedPods(ns, readConsistency.allowsStale("list_pod_node_affinity"));
 
-            return podList.getItems().stream()
+            List<String> result = pods.stream()
                     .filter(pod -> pod.getSpec() != null &&
                             pod.getSpec().getAffinity() != null &&
                             pod.getSpec().getAffinity().getNodeAffinity() != null)
@@ -201,7 +209,9 @@ public class SchedulingTools {
                                 "  Required Rules:\n" + requiredRules + "\n" +
                                 "  Preferred Rules:\n" + preferredRules;
                     })
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toCollection(ArrayList::new));
+            result.add(readConsistency.describe("list_pod_node_affinity", podCache));
+            return result;
         } catch (Exception e) {
             return Collections.emptyList();
         }
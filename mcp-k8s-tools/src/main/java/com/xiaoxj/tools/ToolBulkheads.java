@@ -0,0 +1,190 @@
+package com.xiaoxj.tools;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-tool bulkheads. Each tool may run at most {@code max-concurrent} calls at once; further calls
+ * wait in a bounded queue for up to {@code queue-timeout-ms} and are rejected straight away once the
+ * queue is full, so a slow tool cannot take every worker from the cheap ones. Limits default to
+ * {@code k8s.tools.bulkhead.*} and can be set per tool under {@code k8s.tools.bulkhead.<tool_name>.*}.
+ */
+@Service
+public class ToolBulkheads {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final int defaultMaxConcurrent;
+    private final int defaultQueueSize;
+    private final long defaultQueueTimeoutMillis;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public ToolBulkheads(Environment environment,
+                         MeterRegistry meterRegistry,
+                         @Value("${k8s.tools.bulkhead.max-concurrent:8}") int defaultMaxConcurrent,
+                         @Value("${k8s.tools.bulkhead.queue-size:16}") int defaultQueueSize,
+                         @Value("${k8s.tools.bulkhead.queue-timeout-ms:2000}") long defaultQueueTimeoutMillis) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultQueueSize = defaultQueueSize;
+        this.defaultQueueTimeoutMillis = defaultQueueTimeoutMillis;
+    }
+
+    public ToolCallback[] wrap(ToolCallback[] toolCallbacks) {
+        ToolCallback[] wrapped = new ToolCallback[toolCallbacks.length];
+        for (int i = 0; i < toolCallbacks.length; i++) {
+            wrapped[i] = new BulkheadToolCallback(toolCallbacks[i], bulkhead(toolCallbacks[i].getToolDefinition().name()));
+        }
+        return wrapped;
+    }
+
+    /**
+     * Guards a reactive tool call. Reactive calls do not hold a thread while waiting, so they are
+     * only admitted when a slot is free and otherwise fail with a {@link ToolErrorException}.
+     */
+    public Mono<Object> guard(String toolName, Supplier<Mono<?>> call) {
+        return Mono.defer(() -> {
+            Bulkhead bulkhead = bulkhead(toolName);
+            if (!bulkhead.tryEnter()) {
+                return Mono.error(new ToolErrorException(bulkhead.rejection()));
+            }
+            return Mono.<Object>defer(call::get).doFinally(signal -> bulkhead.exit());
+        });
+    }
+
+    private Bulkhead bulkhead(String toolName) {
+        return bulkheads.computeIfAbsent(toolName, name -> new Bulkhead(name,
+                environment.getProperty("k8s.tools.bulkhead." + name + ".max-concurrent", Integer.class, defaultMaxConcurrent),
+                environment.getProperty("k8s.tools.bulkhead." + name + ".queue-size", Integer.class, defaultQueueSize),
+                environment.getProperty("k8s.tools.bulkhead." + name + ".queue-timeout-ms", Long.class, defaultQueueTimeoutMillis),
+                meterRegistry));
+    }
+
+    private static final class Bulkhead {
+        private final String toolName;
+        private final int maxConcurrent;
+        private final int queueSize;
+        private final long queueTimeoutMillis;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Counter rejected;
+
+        Bulkhead(String toolName, int maxConcurrent, int queueSize, long queueTimeoutMillis, MeterRegistry registry) {
+            this.toolName = toolName;
+            this.maxConcurrent = maxConcurrent;
+            this.queueSize = queueSize;
+            this.queueTimeoutMillis = queueTimeoutMillis;
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.rejected = Counter.builder("k8s.tools.bulkhead.rejected")
+                    .tag("tool", toolName)
+                    .register(registry);
+            Gauge.builder("k8s.tools.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                    .tag("tool", toolName)
+                    .register(registry);
+            Gauge.builder("k8s.tools.bulkhead.queued", queued, AtomicInteger::get)
+                    .tag("tool", toolName)
+                    .register(registry);
+        }
+
+        boolean tryEnter() {
+            try {
+                // The untimed tryAcquire() barges ahead of queued callers; a zero timeout keeps fairness
+                if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rejected.increment();
+            return false;
+        }
+
+        boolean enter() throws InterruptedException {
+            if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            if (queued.incrementAndGet() > queueSize) {
+                queued.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+            try {
+                if (permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                rejected.increment();
+                return false;
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+
+        void exit() {
+            permits.release();
+        }
+
+        String rejection() {
+            return "Error: tool '" + toolName + "' is at its concurrency limit (" + maxConcurrent +
+                    " running, " + queued.get() + " queued). Retry shortly.";
+        }
+    }
+
+    private static final class BulkheadToolCallback implements ToolCallback {
+        private final ToolCallback delegate;
+        private final Bulkhead bulkhead;
+
+        BulkheadToolCallback(ToolCallback delegate, Bulkhead bulkhead) {
+            this.delegate = delegate;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return call(toolInput, null);
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            try {
+                if (!bulkhead.enter()) {
+                    return bulkhead.rejection();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "Error: interrupted while waiting to run tool '" + bulkhead.toolName + "'";
+            }
+            try {
+                return toolContext != null ? delegate.call(toolInput, toolContext) : delegate.call(toolInput);
+            } finally {
+                bulkhead.exit();
+            }
+        }
+    }
+}
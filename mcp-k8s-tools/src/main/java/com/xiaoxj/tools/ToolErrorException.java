@@ -0,0 +1,17 @@
+package com.xiaoxj.tools;
+
+/**
+ * A failed reactive tool call. The message is the text the model sees, worded like the
+ * {@code "Error ..."} results of the blocking tools; the async server reports it with
+ * {@code isError} set.
+ */
+final class ToolErrorException extends RuntimeException {
+
+    ToolErrorException(String message) {
+        super(message);
+    }
+
+    ToolErrorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
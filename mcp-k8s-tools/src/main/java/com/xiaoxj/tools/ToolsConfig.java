@@ -1,27 +1,168 @@
 package com.xiaoxj.tools;
 
 
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.apis.*;
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import io.kubernetes.client.openapi.models.CoreV1EventList;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeList;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
 import io.kubernetes.client.util.Config;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static com.xiaoxj.tools.AsyncToolSpecifications.intArgument;
+import static com.xiaoxj.tools.AsyncToolSpecifications.stringArgument;
 
 @Configuration
 public class ToolsConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(ToolsConfig.class);
+
     @Bean
-    public ApiClient kubernetesClient() {
-        String kubeConfigPath = System.getProperty("user.home") + "/.kube/config";
-        try {
-            return Config.fromConfig(kubeConfigPath);
-        } catch (IOException e) {
-            throw new IllegalStateException("Could not initialize Kubernetes client from " + kubeConfigPath, e);
+    @Primary
+    public ApiClient kubernetesClient(@Value("${k8s.tools.coalesce-reads.enabled:true}") boolean coalesceReads,
+                                      ApiRateLimiter apiRateLimiter,
+                                      ApiTransport apiTransport,
+                                      Environment environment) {
+        ApiClient client = loadKubeConfig();
+        // On a Java 21+ runtime with spring.threads.virtual.enabled, async API calls and their
+        // callbacks run on virtual threads instead of OkHttp's platform pool
+        Dispatcher dispatcher = Threading.VIRTUAL.isActive(environment) ?
+                new Dispatcher(Executors.newCachedThreadPool(
+                        new VirtualThreadTaskExecutor("k8s-api-dispatcher-").getVirtualThreadFactory())) :
+                new Dispatcher();
+        OkHttpClient.Builder httpClient = apiTransport.configure(client.getHttpClient().newBuilder(), "tools", dispatcher);
+        if (coalesceReads) {
+            httpClient.addInterceptor(new ReadCoalescingInterceptor());
+        }
+        // After coalescing, so reads that share a round-trip draw a single token
+        httpClient.addInterceptor(apiRateLimiter);
+        client.setHttpClient(httpClient.build());
+        return client;
+    }
+
+    /**
+     * Separate client for informer list/watch traffic, so long-lived watches do not share a
+     * connection pool or dispatcher with the request/response calls made by the tools.
+     */
+    @Bean
+    public ApiClient informerApiClient(ApiTransport apiTransport) {
+        ApiClient client = loadKubeConfig();
+        // SharedInformerFactory rejects clients with a read timeout; its initial LISTs can be large too
+        client.setHttpClient(apiTransport.configure(client.getHttpClient().newBuilder(), "informer", new Dispatcher())
+                .readTimeout(Duration.ZERO)
+                .build());
+        return client;
+    }
+
+    @Bean
+    public SharedInformerFactory sharedInformerFactory(@Qualifier("informerApiClient") ApiClient informerApiClient) {
+        return new SharedInformerFactory(informerApiClient);
+    }
+
+    @Bean
+    public SharedIndexInformer<V1Pod> podInformer(SharedInformerFactory sharedInformerFactory,
+                                                  @Qualifier("informerApiClient") ApiClient informerApiClient) {
+        CoreV1Api watchApi = new CoreV1Api(informerApiClient);
+        SharedIndexInformer<V1Pod> informer = sharedInformerFactory.sharedIndexInformerFor(
+                params -> watchApi.listPodForAllNamespacesCall(null, null, null, null, null, null,
+                        params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
+                V1Pod.class,
+                V1PodList.class);
+        informer.setTransform(ToolsConfig::stripManagedFields);
+        informer.addIndexers(Map.of(
+                PodCache.NODE_NAME_INDEX, PodCache::nodeNameIndexFunc,
+                PodCache.NAMESPACE_LABEL_INDEX, PodCache::namespaceLabelIndexFunc));
+        return informer;
+    }
+
+    @Bean
+    public SharedIndexInformer<CoreV1Event> eventInformer(SharedInformerFactory sharedInformerFactory,
+                                                          @Qualifier("informerApiClient") ApiClient informerApiClient) {
+        CoreV1Api watchApi = new CoreV1Api(informerApiClient);
+        SharedIndexInformer<CoreV1Event> informer = sharedInformerFactory.sharedIndexInformerFor(
+                params -> watchApi.listEventForAllNamespacesCall(null, null, null, null, null, null,
+                        params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
+                CoreV1Event.class,
+                CoreV1EventList.class);
+        informer.setTransform(ToolsConfig::stripManagedFields);
+        return informer;
+    }
+
+    @Bean
+    public SharedIndexInformer<V1Node> nodeInformer(SharedInformerFactory sharedInformerFactory,
+                                                    @Qualifier("informerApiClient") ApiClient informerApiClient) {
+        CoreV1Api watchApi = new CoreV1Api(informerApiClient);
+        SharedIndexInformer<V1Node> informer = sharedInformerFactory.sharedIndexInformerFor(
+                params -> watchApi.listNodeCall(null, null, null, null, null, null,
+                        params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
+                V1Node.class,
+                V1NodeList.class);
+        informer.setTransform(ToolsConfig::stripManagedFields);
+        return informer;
+    }
+
+    @Bean
+    public SharedIndexInformer<V1Deployment> deploymentInformer(SharedInformerFactory sharedInformerFactory,
+                                                                @Qualifier("informerApiClient") ApiClient informerApiClient) {
+        AppsV1Api watchApi = new AppsV1Api(informerApiClient);
+        SharedIndexInformer<V1Deployment> informer = sharedInformerFactory.sharedIndexInformerFor(
+                params -> watchApi.listDeploymentForAllNamespacesCall(null, null, null, null, null, null,
+                        params.resourceVersion, null, params.timeoutSeconds, params.watch, null),
+                V1Deployment.class,
+                V1DeploymentList.class);
+        informer.setTransform(ToolsConfig::stripManagedFields);
+        return informer;
+    }
+
+    /**
+     * Pool for tools that issue several independent API calls concurrently. Bounded on platform
+     * threads; with {@code spring.threads.virtual.enabled} on a Java 21+ runtime each task gets its
+     * own virtual thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService toolsFanOutExecutor(@Value("${k8s.tools.fan-out.threads:8}") int threads,
+                                               Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newCachedThreadPool(new VirtualThreadTaskExecutor("k8s-tools-fan-out-").getVirtualThreadFactory());
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is ignored: virtual threads need Java 21+, running on Java {}",
+                    Runtime.version().feature());
         }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("k8s-tools-fan-out-"));
     }
 
     @Bean
@@ -60,6 +201,7 @@ public class ToolsConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "SYNC", matchIfMissing = true)
     public ToolCallbackProvider k8sTools(
             PodTools podTools,
             NodeTools nodeTools,
@@ -73,23 +215,98 @@ public class ToolsConfig {
             ResourceManagementTools resourceManagementTools,
             HealthTools healthTools,
             HelmTools helmTools,
-            JobTools jobTools) {
+            JobTools jobTools,
+            ToolBulkheads toolBulkheads) {
 
+        return ToolCallbackProvider.from(toolBulkheads.wrap(methodTools(
+                podTools,
+                nodeTools,
+                serviceTools,
+                storageTools,
+                schedulingTools,
+                deploymentTools,
+                configMapAndSecretTools,
+                networkTools,
+                resourceManagementTools,
+                jobTools,
+                eventTools,
+                healthTools,
+                helmTools).getToolCallbacks()));
+    }
+
+    /**
+     * Tools for the ASYNC MCP server: Reactor variants backed by the client's {@code *Async} calls
+     * where a tool has one, the blocking tools offloaded otherwise.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "ASYNC")
+    public List<McpServerFeatures.AsyncToolSpecification> k8sAsyncTools(
+            PodTools podTools,
+            NodeTools nodeTools,
+            ServiceTools serviceTools,
+            EventTools eventTools,
+            StorageTools storageTools,
+            SchedulingTools schedulingTools,
+            DeploymentTools deploymentTools,
+            ConfigMapAndSecretTools configMapAndSecretTools,
+            NetworkTools networkTools,
+            ResourceManagementTools resourceManagementTools,
+            HealthTools healthTools,
+            HelmTools helmTools,
+            JobTools jobTools,
+            ToolBulkheads toolBulkheads) {
+
+        Map<String, Function<Map<String, Object>, Mono<?>>> reactiveVariants = Map.of(
+                "list_nodes", args -> nodeTools.listNodesAsync(),
+                "describe_pod", args -> podTools.describePodAsync(
+                        stringArgument(args, "podName"),
+                        stringArgument(args, "namespace"),
+                        stringArgument(args, "defaultNamespace")),
+                "get_pod_logs", args -> podTools.getPodLogsAsync(
+                        stringArgument(args, "podName"),
+                        stringArgument(args, "namespace"),
+                        stringArgument(args, "defaultNamespace"),
+                        intArgument(args, "tailLines", 100)),
+                "list_deployments", args -> deploymentTools.listDeploymentsAsync(
+                        stringArgument(args, "namespace"),
+                        stringArgument(args, "defaultNamespace")));
+
+        return AsyncToolSpecifications.of(toolBulkheads.wrap(methodTools(
+                podTools,
+                nodeTools,
+                serviceTools,
+                storageTools,
+                schedulingTools,
+                deploymentTools,
+                configMapAndSecretTools,
+                networkTools,
+                resourceManagementTools,
+                jobTools,
+                eventTools,
+                healthTools,
+                helmTools).getToolCallbacks()), reactiveVariants, toolBulkheads);
+    }
+
+    private static MethodToolCallbackProvider methodTools(Object... toolObjects) {
         return MethodToolCallbackProvider.builder()
-                .toolObjects(
-                        podTools,
-                        nodeTools,
-                        serviceTools,
-                        storageTools,
-                        schedulingTools,
-                        deploymentTools,
-                        configMapAndSecretTools,
-                        networkTools,
-                        resourceManagementTools,
-                        jobTools,
-                        eventTools,
-                        healthTools,
-                        helmTools)
+                .toolObjects(toolObjects)
                 .build();
     }
+
+    // managedFields are never read by the tools and are a large share of every cached object
+    private static KubernetesObject stripManagedFields(KubernetesObject obj) {
+        if (obj.getMetadata() != null) {
+            obj.getMetadata().setManagedFields(null);
+        }
+        return obj;
+    }
+
+    private ApiClient loadKubeConfig() {
+        String kubeConfigPath = System.getProperty("user.home") + "/.kube/config";
+        try {
+            return Config.fromConfig(kubeConfigPath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not initialize Kubernetes client from " + kubeConfigPath, e);
+        }
+    }
 }
\ No newline at end of file
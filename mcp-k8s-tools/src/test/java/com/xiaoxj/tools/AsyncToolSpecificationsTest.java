@@ -0,0 +1,83 @@
+package com.xiaoxj.tools;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.core.env.StandardEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncToolSpecificationsTest {
+
+    private final ToolBulkheads toolBulkheads = new ToolBulkheads(new StandardEnvironment(), new SimpleMeterRegistry(), 1, 0, 0);
+
+    private McpSchema.CallToolResult call(Function<Map<String, Object>, Mono<?>> variant) {
+        McpServerFeatures.AsyncToolSpecification specification = AsyncToolSpecifications.of(
+                new ToolCallback[]{new StubTool("get_pod_logs")}, Map.of("get_pod_logs", variant), toolBulkheads).get(0);
+        return specification.call().apply(null, Map.of()).block();
+    }
+
+    private static String text(McpSchema.CallToolResult result) {
+        return ((McpSchema.TextContent) result.content().get(0)).text();
+    }
+
+    @Test
+    void resultTextStartingWithErrorIsNotAnError() {
+        McpSchema.CallToolResult result = call(args -> Mono.just("Error: connection reset by peer"));
+        assertFalse(result.isError());
+        assertTrue(text(result).contains("connection reset"));
+    }
+
+    @Test
+    void toolErrorIsReportedWithItsMessage() {
+        McpSchema.CallToolResult result = call(args -> Mono.error(new ToolErrorException("Error retrieving logs: not found")));
+        assertTrue(result.isError());
+        assertEquals("Error retrieving logs: not found", text(result));
+    }
+
+    @Test
+    void unexpectedFailureNamesTheTool() {
+        McpSchema.CallToolResult result = call(args -> Mono.error(new IllegalStateException("boom")));
+        assertTrue(result.isError());
+        assertEquals("Error running tool 'get_pod_logs': boom", text(result));
+    }
+
+    @Test
+    void bulkheadRejectionIsAnError() {
+        McpSchema.CallToolResult result = call(args -> Mono.defer(() -> {
+            McpSchema.CallToolResult nested = call(inner -> Mono.just("logs"));
+            return Mono.just(nested);
+        }).map(nested -> {
+            assertTrue(nested.isError());
+            assertTrue(text(nested).contains("concurrency limit"));
+            return "logs";
+        }));
+        assertFalse(result.isError());
+    }
+
+    private record StubTool(String name) implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return "blocking";
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            return call(toolInput);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.TransformFunc;
+import io.kubernetes.client.informer.cache.Indexer;
+import io.kubernetes.client.openapi.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterSnapshotTest {
+
+    private final StubInformer<V1Pod> pods = new StubInformer<>();
+    private final StubInformer<CoreV1Event> events = new StubInformer<>();
+    private final StubInformer<V1Node> nodes = new StubInformer<>();
+    private final StubInformer<V1Deployment> deployments = new StubInformer<>();
+    private final ClusterSnapshot snapshot = new ClusterSnapshot(pods, events, nodes, deployments,
+            new ReadConsistency(List.of("list_pods", "describe_deployment", "check_cluster_health", "list_nodes")));
+
+    @Test
+    void namespacedToolReadsItsNamespace() {
+        assertEquals(List.of(new ClusterSnapshot.Read("pods", "shop")),
+                snapshot.cachedReads("list_pods", Map.of("namespace", "shop")));
+        assertEquals(List.of(new ClusterSnapshot.Read("pods", "fallback")),
+                snapshot.cachedReads("list_pods", Map.of("defaultNamespace", "fallback")));
+        assertEquals(List.of(new ClusterSnapshot.Read("deployments", "default"), new ClusterSnapshot.Read("pods", "default")),
+                snapshot.cachedReads("describe_deployment", Map.of()));
+    }
+
+    @Test
+    void clusterWideToolReadsEveryResourceWhole() {
+        assertEquals(List.of(new ClusterSnapshot.Read("nodes", null), new ClusterSnapshot.Read("pods", null),
+                        new ClusterSnapshot.Read("deployments", null)),
+                snapshot.cachedReads("check_cluster_health", Map.of()));
+    }
+
+    @Test
+    void untrackedQuorumAndUnsyncedReadsAreNotCached() {
+        assertTrue(snapshot.cachedReads("exec_in_pod", Map.of()).isEmpty());
+        // Tracked, but configured for quorum reads
+        assertTrue(snapshot.cachedReads("diagnose_pods", Map.of("namespace", "shop")).isEmpty());
+        // Always served from the event cache
+        assertFalse(snapshot.cachedReads("get_recent_events", Map.of("namespace", "shop")).isEmpty());
+
+        deployments.synced = false;
+        assertTrue(snapshot.cachedReads("check_cluster_health", Map.of()).isEmpty());
+        assertNull(snapshot.generation(new ClusterSnapshot.Read("deployments", null)));
+    }
+
+    @Test
+    void changesBumpTheirNamespaceAndTheCluster() {
+        ClusterSnapshot.Read shop = new ClusterSnapshot.Read("pods", "shop");
+        ClusterSnapshot.Read other = new ClusterSnapshot.Read("pods", "other");
+        ClusterSnapshot.Read cluster = new ClusterSnapshot.Read("pods", null);
+        assertEquals(0L, snapshot.generation(shop));
+        assertEquals(0L, snapshot.generation(cluster));
+
+        V1Pod pod = pod("shop", "1");
+        pods.handler.onAdd(pod);
+        assertEquals(1L, snapshot.generation(shop));
+        assertEquals(0L, snapshot.generation(other));
+        assertEquals(1L, snapshot.generation(cluster));
+
+        // A resync redelivers the same resourceVersion and is not a change
+        pods.handler.onUpdate(pod, pod);
+        assertEquals(1L, snapshot.generation(shop));
+
+        pods.handler.onUpdate(pod, pod("shop", "2"));
+        pods.handler.onDelete(pod("other", "3"), false);
+        assertEquals(2L, snapshot.generation(shop));
+        assertEquals(1L, snapshot.generation(other));
+        assertEquals(3L, snapshot.generation(cluster));
+    }
+
+    @Test
+    void clusterScopedNodesBumpTheClusterGeneration() {
+        ClusterSnapshot.Read allNodes = new ClusterSnapshot.Read("nodes", null);
+        nodes.handler.onAdd(new V1Node().metadata(new V1ObjectMeta().name("node-1").resourceVersion("1")));
+        assertEquals(1L, snapshot.generation(allNodes));
+        assertEquals(0L, snapshot.generation(new ClusterSnapshot.Read("deployments", null)));
+    }
+
+    private static V1Pod pod(String namespace, String resourceVersion) {
+        return new V1Pod().metadata(new V1ObjectMeta().name("web").namespace(namespace).resourceVersion(resourceVersion));
+    }
+
+    static final class StubInformer<T extends KubernetesObject> implements SharedIndexInformer<T> {
+        ResourceEventHandler<T> handler;
+        volatile boolean synced = true;
+
+        @Override
+        public void addEventHandler(ResourceEventHandler<T> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void addEventHandlerWithResyncPeriod(ResourceEventHandler<T> handler, long resyncPeriod) {
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean hasSynced() {
+            return synced;
+        }
+
+        @Override
+        public void addIndexers(Map<String, Function<T, List<String>>> indexers) {
+        }
+
+        @Override
+        public Indexer<T> getIndexer() {
+            return null;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public String lastSyncResourceVersion() {
+            return null;
+        }
+
+        @Override
+        public void setTransform(TransformFunc transformFunc) {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeploymentToolsTest {
+
+    private final List<String> podListResourceVersions = new ArrayList<>();
+
+    private final AppsV1Api appsV1Api = new AppsV1Api(new ApiClient()) {
+        @Override
+        public V1DeploymentList listNamespacedDeployment(String namespace, String pretty, Boolean allowWatchBookmarks,
+                                                         String _continue, String fieldSelector, String labelSelector,
+                                                         Integer limit, String resourceVersion, String resourceVersionMatch,
+                                                         Integer timeoutSeconds, Boolean watch) {
+            return new V1DeploymentList().items(List.of(
+                    deployment("web", new V1LabelSelector().putMatchLabelsItem("app", "web")),
+                    deployment("api", new V1LabelSelector().putMatchLabelsItem("app", "api")),
+                    deployment("worker", LabelSelectorMatcher.parse("app=worker,track notin (canary)"))));
+        }
+    };
+
+    private final CoreV1Api coreV1Api = new CoreV1Api(new ApiClient()) {
+        @Override
+        public V1PodList listNamespacedPod(String namespace, String pretty, Boolean allowWatchBookmarks,
+                                           String _continue, String fieldSelector, String labelSelector,
+                                           Integer limit, String resourceVersion, String resourceVersionMatch,
+                                           Integer timeoutSeconds, Boolean watch) {
+            podListResourceVersions.add(resourceVersion);
+            return new V1PodList().items(List.of(
+                    pod("web-1", Map.of("app", "web")),
+                    pod("web-2", Map.of("app", "web")),
+                    pod("api-1", Map.of("app", "api")),
+                    pod("worker-1", Map.of("app", "worker")),
+                    pod("worker-canary", Map.of("app", "worker", "track", "canary"))));
+        }
+    };
+
+    // Never started, so every pod read misses the cache
+    private final PodCache coldCache = new PodCache(coreV1Api,
+            new SharedInformerFactory(new ApiClient().setReadTimeout(0)).sharedIndexInformerFor(
+                    params -> null, V1Pod.class, V1PodList.class));
+
+    private DeploymentTools tools(List<String> watchCacheTools) {
+        return new DeploymentTools(appsV1Api, coreV1Api, coldCache, new ReadConsistency(watchCacheTools));
+    }
+
+    @Test
+    void coldCacheListsPodsOnceForAllDeployments() {
+        String result = tools(List.of("describe_deployments")).describeDeployments(null, "tier=backend", "shop", null);
+
+        assertEquals(List.of("0"), podListResourceVersions);
+        assertPodsGrouped(result);
+    }
+
+    @Test
+    void strongReadListsPodsOnceForAllDeployments() {
+        String result = tools(List.of()).describeDeployments(List.of("web", "api", "worker", "gone"), null, "shop", null);
+
+        assertEquals(1, podListResourceVersions.size());
+        assertNull(podListResourceVersions.get(0));
+        assertPodsGrouped(result);
+        assertTrue(result.contains("Not found: gone"));
+    }
+
+    private static void assertPodsGrouped(String result) {
+        String web = section(result, "Deployment: web");
+        String api = section(result, "Deployment: api");
+        String worker = section(result, "Deployment: worker");
+        assertTrue(web.contains("web-1") && web.contains("web-2") && !web.contains("api-1"));
+        assertTrue(api.contains("api-1") && !api.contains("web-1"));
+        assertTrue(worker.contains("worker-1") && !worker.contains("worker-canary"));
+    }
+
+    private static String section(String result, String header) {
+        int start = result.indexOf(header);
+        assertTrue(start >= 0, header);
+        int end = result.indexOf("Deployment: ", start + header.length());
+        return result.substring(start, end > 0 ? end : result.length());
+    }
+
+    private static V1Deployment deployment(String name, V1LabelSelector selector) {
+        return new V1Deployment()
+                .metadata(new V1ObjectMeta().name(name).namespace("shop"))
+                .spec(new V1DeploymentSpec().replicas(1).selector(selector));
+    }
+
+    private static V1Pod pod(String name, Map<String, String> labels) {
+        return new V1Pod()
+                .metadata(new V1ObjectMeta().name(name).namespace("shop").labels(labels))
+                .status(new V1PodStatus().phase("Running"));
+    }
+}
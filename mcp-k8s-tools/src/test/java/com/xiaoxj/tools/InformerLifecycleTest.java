@@ -0,0 +1,71 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.models.CoreV1Event;
+import io.kubernetes.client.openapi.models.CoreV1EventList;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeList;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InformerLifecycleTest {
+
+    private final SharedInformerFactory factory = new SharedInformerFactory(new ApiClient().setReadTimeout(0));
+    private final SharedIndexInformer<V1Pod> podInformer =
+            factory.sharedIndexInformerFor(params -> null, V1Pod.class, V1PodList.class);
+    private final SharedIndexInformer<CoreV1Event> eventInformer =
+            factory.sharedIndexInformerFor(params -> null, CoreV1Event.class, CoreV1EventList.class);
+    private final SharedIndexInformer<V1Node> nodeInformer =
+            factory.sharedIndexInformerFor(params -> null, V1Node.class, V1NodeList.class);
+    private final SharedIndexInformer<V1Deployment> deploymentInformer =
+            factory.sharedIndexInformerFor(params -> null, V1Deployment.class, V1DeploymentList.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InformerLifecycle lifecycle(boolean enabled, List<String> resources) {
+        return new InformerLifecycle(podInformer, eventInformer, nodeInformer, deploymentInformer, meterRegistry, enabled, resources);
+    }
+
+    @Test
+    void onlySelectedResourcesAreTracked() {
+        InformerLifecycle lifecycle = lifecycle(true, List.of(" Pods "));
+        assertEquals(Map.of("pods", false), lifecycle.syncStatus());
+        assertNotNull(meterRegistry.find("k8s.tools.cache.synced").tag("resource", "pods").gauge());
+        assertNull(meterRegistry.find("k8s.tools.cache.synced").tag("resource", "events").gauge());
+
+        assertEquals(Status.OUT_OF_SERVICE, new InformerCacheHealthIndicator(lifecycle).health().getStatus());
+    }
+
+    @Test
+    void unknownResourceFailsFast() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> lifecycle(true, List.of("pods", "nodez")));
+        assertTrue(e.getMessage().contains("nodez"));
+    }
+
+    @Test
+    void noResourcesMeansReady() {
+        InformerLifecycle lifecycle = lifecycle(true, List.of());
+        lifecycle.start();
+        assertTrue(lifecycle.isRunning());
+        assertEquals(Status.UP, new InformerCacheHealthIndicator(lifecycle).health().getStatus());
+        lifecycle.stop();
+        assertFalse(podInformer.hasSynced());
+    }
+
+    @Test
+    void disabledCacheIsUp() {
+        assertEquals(Status.UP, new InformerCacheHealthIndicator(lifecycle(false, List.of("pods", "events"))).health().getStatus());
+    }
+}
@@ -0,0 +1,137 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.openapi.models.V1LabelSelector;
+import io.kubernetes.client.openapi.models.V1LabelSelectorRequirement;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabelSelectorMatcherTest {
+
+    private static LabelSelectorMatcher matcher(String selector) {
+        return LabelSelectorMatcher.compile(LabelSelectorMatcher.parse(selector));
+    }
+
+    @Test
+    void equality() {
+        LabelSelectorMatcher matcher = matcher("app=web");
+        assertTrue(matcher.matches(Map.of("app", "web", "tier", "frontend")));
+        assertFalse(matcher.matches(Map.of("app", "db")));
+        assertFalse(matcher.matches(Map.of()));
+    }
+
+    @Test
+    void doubleEquals() {
+        LabelSelectorMatcher matcher = matcher("app==web");
+        assertTrue(matcher.matches(Map.of("app", "web")));
+        assertFalse(matcher.matches(Map.of("app", "=web")));
+        assertEquals(Map.entry("app", "web"), matcher.indexTerm());
+    }
+
+    @Test
+    void notEquals() {
+        LabelSelectorMatcher matcher = matcher("tier!=db");
+        assertTrue(matcher.matches(Map.of("tier", "web")));
+        assertTrue(matcher.matches(Map.of()));
+        assertFalse(matcher.matches(Map.of("tier", "db")));
+        assertNull(matcher.indexTerm());
+    }
+
+    @Test
+    void in() {
+        LabelSelectorMatcher matcher = matcher("env in (prod, staging)");
+        assertTrue(matcher.matches(Map.of("env", "prod")));
+        assertTrue(matcher.matches(Map.of("env", "staging")));
+        assertFalse(matcher.matches(Map.of("env", "dev")));
+        assertFalse(matcher.matches(Map.of()));
+    }
+
+    @Test
+    void notIn() {
+        LabelSelectorMatcher matcher = matcher("env notin (prod,staging)");
+        assertTrue(matcher.matches(Map.of("env", "dev")));
+        assertTrue(matcher.matches(Map.of()));
+        assertFalse(matcher.matches(Map.of("env", "prod")));
+    }
+
+    @Test
+    void exists() {
+        LabelSelectorMatcher matcher = matcher("canary");
+        assertTrue(matcher.matches(Map.of("canary", "")));
+        assertFalse(matcher.matches(Map.of("app", "web")));
+    }
+
+    @Test
+    void doesNotExist() {
+        LabelSelectorMatcher matcher = matcher("!canary");
+        assertTrue(matcher.matches(Map.of("app", "web")));
+        assertFalse(matcher.matches(Map.of("canary", "true")));
+    }
+
+    @Test
+    void commasInsideSetTermsDoNotSplitTerms() {
+        V1LabelSelector selector = LabelSelectorMatcher.parse("app=web,env in (prod,staging),!canary");
+        assertEquals(Map.of("app", "web"), selector.getMatchLabels());
+        assertEquals(2, selector.getMatchExpressions().size());
+        assertEquals(List.of("prod", "staging"), selector.getMatchExpressions().get(0).getValues());
+
+        LabelSelectorMatcher matcher = LabelSelectorMatcher.compile(selector);
+        assertTrue(matcher.matches(Map.of("app", "web", "env", "staging")));
+        assertFalse(matcher.matches(Map.of("app", "web", "env", "staging", "canary", "true")));
+    }
+
+    @Test
+    void nullAndEmptySelectorsMatchEverything() {
+        for (LabelSelectorMatcher matcher : List.of(
+                LabelSelectorMatcher.compile(null),
+                LabelSelectorMatcher.compile(new V1LabelSelector()),
+                matcher(null),
+                matcher(" "))) {
+            assertTrue(matcher.isEmpty());
+            assertTrue(matcher.matches(Map.of("app", "web")));
+            assertTrue(matcher.matches(null));
+            assertEquals("", matcher.toSelectorString());
+        }
+    }
+
+    @Test
+    void selectorStringRoundTrips() {
+        V1LabelSelector selector = new V1LabelSelector()
+                .putMatchLabelsItem("app", "web")
+                .addMatchExpressionsItem(new V1LabelSelectorRequirement().key("env").operator("In").values(List.of("prod", "staging")))
+                .addMatchExpressionsItem(new V1LabelSelectorRequirement().key("tier").operator("NotIn").values(List.of("db")))
+                .addMatchExpressionsItem(new V1LabelSelectorRequirement().key("track").operator("Exists"))
+                .addMatchExpressionsItem(new V1LabelSelectorRequirement().key("canary").operator("DoesNotExist"));
+        String selectorString = LabelSelectorMatcher.compile(selector).toSelectorString();
+        assertEquals("app=web,env in (prod,staging),tier notin (db),track,!canary", selectorString);
+
+        V1LabelSelector reparsed = LabelSelectorMatcher.parse(selectorString);
+        assertEquals(selector, reparsed);
+        assertEquals(selectorString, LabelSelectorMatcher.compile(reparsed).toSelectorString());
+    }
+
+    @Test
+    void unsupportedOperatorIsRejected() {
+        V1LabelSelector selector = new V1LabelSelector()
+                .addMatchExpressionsItem(new V1LabelSelectorRequirement().key("app").operator("Gt"));
+        assertThrows(IllegalArgumentException.class, () -> LabelSelectorMatcher.compile(selector));
+    }
+
+    @Test
+    void namespaceLabelIndexKeysEveryLabel() {
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta()
+                .namespace("shop")
+                .labels(Map.of("app", "web", "tier", "frontend")));
+        List<String> keys = PodCache.namespaceLabelIndexFunc(pod);
+        assertEquals(2, keys.size());
+        assertTrue(keys.containsAll(List.of("shop/app=web", "shop/tier=frontend")));
+
+        assertTrue(PodCache.namespaceLabelIndexFunc(new V1Pod()).isEmpty());
+        assertTrue(PodCache.namespaceLabelIndexFunc(new V1Pod().metadata(new V1ObjectMeta().namespace("shop"))).isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.xiaoxj.tools;
+
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadConsistencyTest {
+
+    private final ReadConsistency readConsistency = new ReadConsistency(List.of("list_pods", " list_nodes "));
+
+    // Never started, so it reports unsynced and the pod reads fall back to LIST calls
+    private final PodCache podCache = new PodCache(new CoreV1Api(new ApiClient()),
+            new SharedInformerFactory(new ApiClient().setReadTimeout(0)).sharedIndexInformerFor(
+                    params -> null, V1Pod.class, V1PodList.class));
+
+    @Test
+    void onlyListedToolsAllowStaleReads() {
+        assertTrue(readConsistency.allowsStale("list_nodes"));
+        assertEquals("0", readConsistency.resourceVersion("list_pods"));
+        assertFalse(readConsistency.allowsStale("drain_node"));
+        assertNull(readConsistency.resourceVersion("drain_node"));
+    }
+
+    @Test
+    void strongReadsSayQuorum() {
+        assertEquals("Consistency: strong (quorum read)", readConsistency.describe("drain_node"));
+        assertEquals("Consistency: strong (quorum read)", readConsistency.describe("describe_pods", podCache, "nodes"));
+    }
+
+    @Test
+    void unsyncedCacheReportsWatchCache() {
+        assertEquals("Consistency: API server watch cache (resourceVersion=0)", readConsistency.describe("list_nodes"));
+        assertEquals("Consistency: pods from the API server watch cache (resourceVersion=0)",
+                readConsistency.describe("list_pods", podCache));
+        assertEquals("Consistency: pods from the API server watch cache (resourceVersion=0); " +
+                        "nodes and deployments from the API server watch cache (resourceVersion=0)",
+                readConsistency.describe("list_pods", podCache, "nodes", "deployments"));
+        assertNull(podCache.sinceLastEvent());
+    }
+}